@@ -0,0 +1,216 @@
+package aj.z85j;
+
+import java.util.Arrays;
+
+import static java.lang.Byte.toUnsignedInt;
+
+/**
+ * Adobe Ascii85 encoder / decoder: alphabet {@link Base85Alphabet#ASCII85}, block of four zero bytes is compressed to {@code 'z'},
+ * final partial block of n bytes is encoded into n + 1 characters, data could be framed by {@code <~} and {@code ~>} and whitespace is ignored during decoding.
+ * Encoder checks each block for zero and encodes others by single character lookups, decoder decodes blocks of five characters directly
+ * and gathers characters one by one only for blocks interrupted by whitespace and the final partial block.
+ */
+public final class Ascii85 {
+
+    private static final byte[] encoderMap = Base85Alphabet.ASCII85.encoderMap;
+    private static final byte[] decoderMap = Base85Alphabet.ASCII85.decoderMap;
+
+    private static final byte ZERO_BLOCK = 'z';
+    private static final byte[] PREFIX = {'<', '~'};
+    private static final byte[] SUFFIX = {'~', '>'};
+
+    private Ascii85() {
+    }
+
+    /**
+     * Encodes binary data to Ascii85 without framing.
+     *
+     * @param binary binary data of any size
+     * @return data encoded in Ascii85
+     * @throws IllegalArgumentException thrown when encoded data exceeds maximum java array size
+     */
+    public static byte[] encode(byte[] binary) {
+        return encode(binary, false);
+    }
+
+    /**
+     * Encodes binary data to Ascii85 framed by {@code <~} and {@code ~>}.
+     *
+     * @param binary binary data of any size
+     * @return data encoded in Ascii85
+     * @throws IllegalArgumentException thrown when encoded data exceeds maximum java array size
+     */
+    public static byte[] encodeFramed(byte[] binary) {
+        return encode(binary, true);
+    }
+
+    private static byte[] encode(byte[] binary, boolean framed) {
+        int size = binary.length;
+        int remainder = size & 3;
+        long maxLength = (size >> 2) * 5L + (remainder == 0 ? 0 : remainder + 1) + (framed ? PREFIX.length + SUFFIX.length : 0);
+        if (maxLength > Z85.JAVA_MAX_ARRAY_SIZE) {
+            throw new IllegalArgumentException("Not enough space for encoding, " + maxLength + " bytes would be needed, " + Z85.JAVA_MAX_ARRAY_SIZE + " bytes are allowed at most");
+        }
+        byte[] encoded = new byte[(int) maxLength];
+        int j = 0;
+        if (framed) {
+            encoded[j++] = PREFIX[0];
+            encoded[j++] = PREFIX[1];
+        }
+        int fullSize = size - remainder;
+        for (int i = 0; i < fullSize; i += 4) {
+            int chunk = UnsafeByteArrayAccess.bytesToInt(binary, i);
+            if (chunk == 0) {
+                encoded[j++] = ZERO_BLOCK;
+            } else {
+                Base85.encodeFour(encoderMap, chunk, encoded, j);
+                j += 5;
+            }
+        }
+        if (remainder != 0) {
+            long chunk = 0;
+            for (int i = 0; i < 4; i++) {
+                chunk = chunk << 8 | (fullSize + i < size ? toUnsignedInt(binary[fullSize + i]) : 0);
+            }
+            for (int k = 4; k >= 0; k--) {
+                if (k <= remainder) { // zero padding bytes produce trailing characters, which are dropped
+                    encoded[j + k] = encoderMap[(int) (chunk % 85)];
+                }
+                chunk /= 85;
+            }
+            j += remainder + 1;
+        }
+        if (framed) {
+            encoded[j++] = SUFFIX[0];
+            encoded[j++] = SUFFIX[1];
+        }
+        return j == encoded.length ? encoded : Arrays.copyOf(encoded, j);
+    }
+
+    /**
+     * Decodes binary data from Ascii85. Framing by {@code <~} and {@code ~>} is optional, when the input starts with {@code <~}, it must end with {@code ~>}.
+     * Whitespace characters (CR, LF, space, tab) are skipped wherever they occur.
+     *
+     * @param encoded data encoded in Ascii85
+     * @return binary data
+     * @throws IllegalArgumentException thrown when invalid characters are found, decoded data exceeds integer range, {@code 'z'} is found inside of block, final block consists of single character, framing is incomplete
+     */
+    public static byte[] decode(byte[] encoded) {
+        int from = 0;
+        int to = encoded.length;
+        while (from < to && isWhitespace(encoded[from])) {
+            from++;
+        }
+        while (to > from && isWhitespace(encoded[to - 1])) {
+            to--;
+        }
+        boolean prefixed = false;
+        if (from < to && encoded[from] == PREFIX[0]) { // '<' is valid character, it starts marker only when '~' follows
+            int next = from + 1;
+            while (next < to && isWhitespace(encoded[next])) {
+                next++;
+            }
+            if (next < to && encoded[next] == PREFIX[1]) {
+                from = next + 1;
+                prefixed = true;
+            }
+        }
+        boolean suffixed = false;
+        if (to > from && encoded[to - 1] == SUFFIX[1]) { // '>' is valid character, it ends marker only when '~' precedes
+            int previous = to - 2;
+            while (previous >= from && isWhitespace(encoded[previous])) {
+                previous--;
+            }
+            if (previous >= from && encoded[previous] == SUFFIX[0]) {
+                to = previous;
+                suffixed = true;
+            }
+        }
+        if (prefixed && !suffixed) {
+            throw new IllegalArgumentException("Missing end of data marker ~>");
+        }
+        return decode(encoded, from, to);
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return decoderMap[toUnsignedInt(b)] == Base85Alphabet.WHITESPACE;
+    }
+
+    /**
+     * Decodes string from Ascii85. Framing by {@code <~} and {@code ~>} is optional, when the input starts with {@code <~}, it must end with {@code ~>}.
+     * Whitespace characters (CR, LF, space, tab) are skipped wherever they occur.
+     *
+     * @param encoded string encoded in Ascii85
+     * @return binary data
+     * @throws IllegalArgumentException thrown when invalid characters are found, decoded data exceeds integer range, {@code 'z'} is found inside of block, final block consists of single character, framing is incomplete
+     */
+    public static byte[] decode(String encoded) {
+        byte[] bytes = new byte[encoded.length()];
+        for (int i = 0; i < bytes.length; i++) {
+            char c = encoded.charAt(i);
+            if (c > 0xFF) {
+                throw new IllegalArgumentException("Invalid encoding at position " + i);
+            }
+            bytes[i] = (byte) c;
+        }
+        return decode(bytes);
+    }
+
+    private static byte[] decode(byte[] encoded, int from, int to) {
+        byte[] decoded = new byte[Z85.unsignedIntDiv5(to - from) * 4 + 4]; // exact unless 'z' or whitespace occurs
+        int i = from;
+        int j = 0;
+        while (true) {
+            while (i < to && decoderMap[toUnsignedInt(encoded[i])] == Base85Alphabet.WHITESPACE) {
+                i++;
+            }
+            if (i == to) {
+                return j == decoded.length ? decoded : Arrays.copyOf(decoded, j);
+            }
+            if (j > decoded.length - 4) { // only 'z' could expand input
+                if ((long) j + 4 > Z85.JAVA_MAX_ARRAY_SIZE) {
+                    throw new IllegalArgumentException("Not enough space for decoding at position " + i + ", " + Z85.JAVA_MAX_ARRAY_SIZE + " bytes are allowed at most");
+                }
+                decoded = Arrays.copyOf(decoded, (int) Math.min(Z85.JAVA_MAX_ARRAY_SIZE, Math.max(j + 4, decoded.length * 2L)));
+            }
+            int blockStart = i;
+            if (encoded[i] == ZERO_BLOCK) {
+                j += 4; // array is zeroed already
+                i++;
+                continue;
+            }
+            long chunk;
+            int count;
+            if (to - i >= 5 && !Base85.containsInvalidCharactersInFive(decoderMap, encoded, i)) { // block not interrupted by whitespace
+                chunk = Base85.decodeFive(decoderMap, encoded, i);
+                count = 5;
+                i += 5;
+            } else {
+                chunk = 0;
+                count = 0;
+                for (; count < 5 && i < to; i++) {
+                    byte value = decoderMap[toUnsignedInt(encoded[i])];
+                    if (value == Base85Alphabet.WHITESPACE) {
+                        continue;
+                    }
+                    if (value == Base85Alphabet.INVALID) {
+                        throw new IllegalArgumentException("Invalid encoding at position " + i);
+                    }
+                    chunk = chunk * 85 + value;
+                    count++;
+                }
+                if (count == 1) {
+                    throw new IllegalArgumentException("Final block must contain at least 2 characters, block at position " + blockStart);
+                }
+                for (int k = count; k < 5; k++) { // pad by the highest digit, so truncation gives original bytes
+                    chunk = chunk * 85 + 84;
+                }
+            }
+            if ((chunk >>> 32) != 0) { // decoded value outside integer range
+                throw new IllegalArgumentException("Invalid encoding at position " + blockStart);
+            }
+            UnsafeByteArrayAccess.intToBytes(decoded, j, (int) chunk);
+            j += count - 1;
+        }
+    }
+}
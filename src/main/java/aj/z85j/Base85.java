@@ -0,0 +1,325 @@
+package aj.z85j;
+
+import static java.lang.Byte.toUnsignedInt;
+import static java.lang.Integer.toUnsignedLong;
+
+/**
+ * Base85 encoder / decoder for any {@link Base85Alphabet}, with the same rules as {@link Z85}: no padding, size must be multiple of 4 for encoding and multiple of 5 for decoding.
+ * Class is final and tables are passed to static block loops as local variables, so each loop stays monomorphic and runs at the same speed as {@link Z85} loops.
+ * Instances are immutable and thread-safe.
+ */
+public final class Base85 {
+
+    private final Base85Alphabet alphabet;
+    private final byte[] encoderMap;
+    private final short[] encoderPairMap;
+    private final byte[] decoderMap;
+
+    /**
+     * Creates encoder / decoder for given alphabet.
+     *
+     * @param alphabet alphabet
+     */
+    public Base85(Base85Alphabet alphabet) {
+        this.alphabet = alphabet;
+        this.encoderMap = alphabet.encoderMap;
+        this.encoderPairMap = alphabet.encoderPairMap;
+        this.decoderMap = alphabet.decoderMap;
+    }
+
+    /**
+     * @return alphabet used for encoding and decoding
+     */
+    public Base85Alphabet alphabet() {
+        return alphabet;
+    }
+
+    /**
+     * Encodes binary data.
+     *
+     * @param binary binary data
+     * @return encoded data
+     * @throws IllegalArgumentException thrown when encoded data exceeds maximum java array size, size of input array is not multiple of 4
+     */
+    public byte[] encode(byte[] binary) {
+        byte[] encoded = new byte[Z85.checkEncodedLength(binary.length, binary.length)];
+        encodeBlocksPaired(encoderMap, encoderPairMap, binary, 0, binary.length, encoded, 0);
+        return encoded;
+    }
+
+    /**
+     * Encodes part of binary data into given array, no array is allocated.
+     *
+     * @param binary        binary data
+     * @param offset        position of the first byte to be encoded
+     * @param length        number of bytes to be encoded
+     * @param encoded       target array
+     * @param encodedOffset position in target array where encoded data starts
+     * @return number of encoded bytes written into target array
+     * @throws IllegalArgumentException thrown when given range is out of input array, length is not multiple of 4, encoded data does not fit into target array
+     */
+    public int encode(byte[] binary, int offset, int length, byte[] encoded, int encodedOffset) {
+        Z85.checkRange(binary.length, offset, length);
+        int encodedLength = Z85.checkEncodedLength(length, length);
+        Z85.checkRange(encoded.length, encodedOffset, encodedLength);
+        encodeBlocksPaired(encoderMap, encoderPairMap, binary, offset, offset + length, encoded, encodedOffset);
+        return encodedLength;
+    }
+
+    /**
+     * Decodes binary data.
+     *
+     * @param encoded encoded data
+     * @return binary data
+     * @throws IllegalArgumentException thrown when invalid characters are found, decoded data exceeds integer range, size of input array is not multiple of 5
+     */
+    public byte[] decode(byte[] encoded) {
+        byte[] decoded = new byte[Z85.checkDecodedLength(encoded.length, encoded.length)];
+        decodeBlocksDeferred(decoderMap, encoded, 0, encoded.length, decoded, 0);
+        return decoded;
+    }
+
+    /**
+     * Decodes string.
+     *
+     * @param encoded encoded string
+     * @return binary data
+     * @throws IllegalArgumentException thrown when invalid characters are found, decoded data exceeds integer range, length of string is not multiple of 5
+     */
+    public byte[] decode(String encoded) {
+        byte[] decoded = new byte[Z85.checkDecodedLength(encoded.length(), encoded.length())];
+        decodeBlocksDeferred(decoderMap, encoded, 0, encoded.length(), decoded, 0);
+        return decoded;
+    }
+
+    /**
+     * Decodes part of encoded data into given array, no array is allocated.
+     *
+     * @param encoded       encoded data
+     * @param offset        position of the first character to be decoded
+     * @param length        number of characters to be decoded
+     * @param decoded       target array
+     * @param decodedOffset position in target array where decoded data starts
+     * @return number of decoded bytes written into target array
+     * @throws IllegalArgumentException thrown when invalid characters are found, decoded data exceeds integer range, given range is out of input array, length is not multiple of 5, decoded data does not fit into target array
+     */
+    public int decode(byte[] encoded, int offset, int length, byte[] decoded, int decodedOffset) {
+        Z85.checkRange(encoded.length, offset, length);
+        int decodedLength = Z85.checkDecodedLength(length, length);
+        Z85.checkRange(decoded.length, decodedOffset, decodedLength);
+        decodeBlocksDeferred(decoderMap, encoded, offset, offset + length, decoded, decodedOffset);
+        return decodedLength;
+    }
+
+    /**
+     * Validates if byte array conforms encoding: length of array is divisible by 5, all chunks mapped into unsigned integer range, no invalid characters.
+     *
+     * @param encoded encoded byte array
+     * @return true, when valid
+     */
+    public boolean isValid(byte[] encoded) {
+        if ((Z85.unsignedIntDiv5(encoded.length) * 5 != encoded.length)) {
+            return false;
+        }
+        byte[] decoderMap = this.decoderMap;
+        for (int i = 0; i < encoded.length; i += 5) {
+            if (containsInvalidCharactersInFive(decoderMap, encoded, i)) {
+                return false;
+            }
+            if ((decodeFive(decoderMap, encoded, i) >>> 32) != 0) { // decoded value outside integer range
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "Base85{" + alphabet.characters() + '}';
+    }
+
+    static void encodeBlocks(byte[] encoderMap, byte[] binary, int from, int to, byte[] encoded, int encodedOffset) {
+        for (int i = from, j = encodedOffset; i < to; i += 4, j += 5) {
+            encodeFour(encoderMap, UnsafeByteArrayAccess.bytesToInt(binary, i), encoded, j);
+        }
+    }
+
+    static void decodeBlocks(byte[] decoderMap, byte[] encoded, int from, int to, byte[] decoded, int decodedOffset) {
+        for (int i = from, j = decodedOffset; i < to; i += 5, j += 4) {
+            if (containsInvalidCharactersInFive(decoderMap, encoded, i)) {
+                throw new IllegalArgumentException("Invalid encoding at position " + i);
+            }
+            long chunk = decodeFive(decoderMap, encoded, i);
+            if ((chunk >>> 32) != 0) { // decoded value outside integer range
+                throw new IllegalArgumentException("Invalid encoding at position " + i);
+            }
+            UnsafeByteArrayAccess.intToBytes(decoded, j, (int) chunk);
+        }
+    }
+
+    static void decodeBlocks(byte[] decoderMap, String encoded, int from, int to, byte[] decoded, int decodedOffset) {
+        for (int i = from, j = decodedOffset; i < to; i += 5, j += 4) {
+            if (containsNonAsciiInFive(encoded, i)) { // to avoid array index out of bounds exception
+                throw new IllegalArgumentException("Invalid encoding at position " + i);
+            }
+            if (containsInvalidCharactersInFive(decoderMap, encoded, i)) {
+                throw new IllegalArgumentException("Invalid encoding at position " + i);
+            }
+            long chunk = decodeFive(decoderMap, encoded, i);
+            if ((chunk >>> 32) != 0) { // decoded value outside integer range
+                throw new IllegalArgumentException("Invalid encoding at position " + i);
+            }
+            UnsafeByteArrayAccess.intToBytes(decoded, j, (int) chunk);
+        }
+    }
+
+    // invalid characters and overflows are accumulated instead of checked per block, output is written unconditionally,
+    // so the loop has no exit besides its end - the scalar loop rescans input only on failure to report the first invalid position
+    static void decodeBlocksDeferred(byte[] decoderMap, byte[] encoded, int from, int to, byte[] decoded, int decodedOffset) {
+        int invalid = 0;
+        long overflow = 0;
+        for (int i = from, j = decodedOffset; i < to; i += 5, j += 4) {
+            int c0 = decoderMap[toUnsignedInt(encoded[i])];
+            int c1 = decoderMap[toUnsignedInt(encoded[i + 1])];
+            int c2 = decoderMap[toUnsignedInt(encoded[i + 2])];
+            int c3 = decoderMap[toUnsignedInt(encoded[i + 3])];
+            int c4 = decoderMap[toUnsignedInt(encoded[i + 4])];
+            invalid |= c0 | c1 | c2 | c3 | c4;
+            long chunk = c4 + 85 * (c3 + 85 * (c2 + 85 * (c1 + 85L * c0)));
+            overflow |= chunk;
+            UnsafeByteArrayAccess.intToBytes(decoded, j, (int) chunk);
+        }
+        if (((invalid & 0xFF_FF_FF_00) | (overflow >>> 32)) != 0) {
+            decodeBlocks(decoderMap, encoded, from, to, decoded, decodedOffset);
+        }
+    }
+
+    static void decodeBlocksDeferred(byte[] decoderMap, String encoded, int from, int to, byte[] decoded, int decodedOffset) {
+        int chars = 0;
+        int invalid = 0;
+        long overflow = 0;
+        for (int i = from, j = decodedOffset; i < to; i += 5, j += 4) {
+            char a = encoded.charAt(i);
+            char b = encoded.charAt(i + 1);
+            char c = encoded.charAt(i + 2);
+            char d = encoded.charAt(i + 3);
+            char e = encoded.charAt(i + 4);
+            chars |= a | b | c | d | e;
+            // masked index stays inside of map for non-ASCII characters, they are detected by chars accumulator
+            int c0 = decoderMap[a & 0xFF];
+            int c1 = decoderMap[b & 0xFF];
+            int c2 = decoderMap[c & 0xFF];
+            int c3 = decoderMap[d & 0xFF];
+            int c4 = decoderMap[e & 0xFF];
+            invalid |= c0 | c1 | c2 | c3 | c4;
+            long chunk = c4 + 85 * (c3 + 85 * (c2 + 85 * (c1 + 85L * c0)));
+            overflow |= chunk;
+            UnsafeByteArrayAccess.intToBytes(decoded, j, (int) chunk);
+        }
+        if (((chars & 0xFF_FF_FF_00) | (invalid & 0xFF_FF_FF_00) | (overflow >>> 32)) != 0) {
+            decodeBlocks(decoderMap, encoded, from, to, decoded, decodedOffset);
+        }
+    }
+
+    // two characters per lookup and 2 bytes store
+    static void encodeBlocksPaired(byte[] encoderMap, short[] encoderPairMap, byte[] binary, int from, int to, byte[] encoded, int encodedOffset) {
+        for (int i = from, j = encodedOffset; i < to; i += 4, j += 5) {
+            encodeFourPaired(encoderMap, encoderPairMap, UnsafeByteArrayAccess.bytesToInt(binary, i), encoded, j);
+        }
+    }
+
+    // two blocks per iteration, one 8 bytes load
+    static void encodeBlocksUnrolled(byte[] encoderMap, short[] encoderPairMap, byte[] binary, int from, int to, byte[] encoded, int encodedOffset) {
+        int i = from;
+        int j = encodedOffset;
+        for (; i <= to - 8; i += 8, j += 10) {
+            long chunk = UnsafeByteArrayAccess.bytesToLong(binary, i);
+            encodeFourPaired(encoderMap, encoderPairMap, (int) (chunk >>> 32), encoded, j);
+            encodeFourPaired(encoderMap, encoderPairMap, (int) chunk, encoded, j + 5);
+        }
+        if (i < to) {
+            encodeFourPaired(encoderMap, encoderPairMap, UnsafeByteArrayAccess.bytesToInt(binary, i), encoded, j);
+        }
+    }
+
+    // two blocks per iteration with single validity check and one 8 bytes store, exact error position is left to scalar loop
+    static void decodeBlocksUnrolled(byte[] decoderMap, byte[] encoded, int from, int to, byte[] decoded, int decodedOffset) {
+        int i = from;
+        int j = decodedOffset;
+        for (; i <= to - 10; i += 10, j += 8) {
+            if (containsInvalidCharactersInFive(decoderMap, encoded, i) | containsInvalidCharactersInFive(decoderMap, encoded, i + 5)) {
+                break;
+            }
+            long high = decodeFive(decoderMap, encoded, i);
+            long low = decodeFive(decoderMap, encoded, i + 5);
+            if (((high | low) >>> 32) != 0) { // decoded value outside integer range
+                break;
+            }
+            UnsafeByteArrayAccess.longToBytes(decoded, j, high << 32 | low);
+        }
+        decodeBlocks(decoderMap, encoded, i, to, decoded, j);
+    }
+
+    static void encodeFour(byte[] encoderMap, int chunk, byte[] encoded, int j) {
+        int div1 = Z85.unsignedIntDiv85(chunk);
+        int div2 = Z85.unsignedIntDiv85(div1);
+        encoded[j + 4] = encoderMap[(int) (toUnsignedLong(chunk) - div1 * 85L)];
+        encoded[j + 3] = encoderMap[div1 - div2 * 85];
+
+        int div3 = Z85.unsignedIntDiv85(div2);
+        int div4 = Z85.unsignedIntDiv85(div3);
+        encoded[j + 2] = encoderMap[div2 - div3 * 85];
+        encoded[j + 1] = encoderMap[div3 - div4 * 85];
+
+        encoded[j + 0] = encoderMap[div4];
+    }
+
+    // quotient by 85 * 85 comes from the same division chain as in encodeFour, the first character is looked up alone
+    static void encodeFourPaired(byte[] encoderMap, short[] encoderPairMap, int chunk, byte[] encoded, int j) {
+        int div2 = Z85.unsignedIntDiv85(Z85.unsignedIntDiv85(chunk));
+        int div4 = Z85.unsignedIntDiv85(Z85.unsignedIntDiv85(div2));
+        UnsafeByteArrayAccess.shortToBytesNativeOrder(encoded, j + 3, encoderPairMap[(int) (toUnsignedLong(chunk) - div2 * 7225L)]);
+        UnsafeByteArrayAccess.shortToBytesNativeOrder(encoded, j + 1, encoderPairMap[div2 - div4 * 7225]);
+        encoded[j] = encoderMap[div4];
+    }
+
+    static boolean containsNonAsciiInFive(String encoded, int pos) {
+        return ((encoded.charAt(pos)
+                | encoded.charAt(pos + 1)
+                | encoded.charAt(pos + 2)
+                | encoded.charAt(pos + 3)
+                | encoded.charAt(pos + 4)) & 0xFF_FF_FF_00) != 0;
+    }
+
+    static boolean containsInvalidCharactersInFive(byte[] decoderMap, String encoded, int pos) {
+        return ((decoderMap[encoded.charAt(pos + 4)]
+                | decoderMap[encoded.charAt(pos + 3)]
+                | decoderMap[encoded.charAt(pos + 2)]
+                | decoderMap[encoded.charAt(pos + 1)]
+                | decoderMap[encoded.charAt(pos + 0)]) & 0xFF_FF_FF_00) != 0;
+    }
+
+    static boolean containsInvalidCharactersInFive(byte[] decoderMap, byte[] encoded, int pos) {
+        return ((decoderMap[toUnsignedInt(encoded[pos + 4])]
+                | decoderMap[toUnsignedInt(encoded[pos + 3])]
+                | decoderMap[toUnsignedInt(encoded[pos + 2])]
+                | decoderMap[toUnsignedInt(encoded[pos + 1])]
+                | decoderMap[toUnsignedInt(encoded[pos + 0])]) & 0xFF_FF_FF_00) != 0;
+    }
+
+    static long decodeFive(byte[] decoderMap, String encoded, int pos) {
+        return decoderMap[encoded.charAt(pos + 4)]
+                + 85 * (decoderMap[encoded.charAt(pos + 3)]
+                + 85 * (decoderMap[encoded.charAt(pos + 2)]
+                + 85 * (decoderMap[encoded.charAt(pos + 1)]
+                + 85L * (decoderMap[encoded.charAt(pos + 0)]))));
+    }
+
+    static long decodeFive(byte[] decoderMap, byte[] encoded, int pos) {
+        return decoderMap[toUnsignedInt(encoded[pos + 4])]
+                + 85 * (decoderMap[toUnsignedInt(encoded[pos + 3])]
+                + 85 * (decoderMap[toUnsignedInt(encoded[pos + 2])]
+                + 85 * (decoderMap[toUnsignedInt(encoded[pos + 1])]
+                + 85L * (decoderMap[toUnsignedInt(encoded[pos + 0])]))));
+    }
+}
@@ -0,0 +1,89 @@
+package aj.z85j;
+
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static java.lang.Byte.toUnsignedInt;
+
+/**
+ * Set of 85 characters used for encoding with precomputed encoding and decoding tables, order of characters defines their values.
+ */
+public final class Base85Alphabet {
+
+    // both sentinels have high bits set, so strict decoding rejects whitespace exactly as any other invalid character
+    static final byte INVALID = (byte) 0xFF;
+    static final byte WHITESPACE = (byte) 0xFE;
+
+    /**
+     * Alphabet defined in ZeroMQ's RFC32.
+     */
+    public static final Base85Alphabet Z85 = new Base85Alphabet("0123456789abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ.-:+=^!/*?&<>()[]{}@%$#");
+
+    /**
+     * Alphabet of Adobe Ascii85 and btoa - characters from {@code '!'} to {@code 'u'}.
+     */
+    public static final Base85Alphabet ASCII85 = new Base85Alphabet("!\"#$%&'()*+,-./0123456789:;<=>?@ABCDEFGHIJKLMNOPQRSTUVWXYZ[\\]^_`abcdefghijklmnopqrstu");
+
+    final byte[] encoderMap;
+    final short[] encoderPairMap; // 85 * 85 pairs of characters in native byte order, so single 2 bytes store writes them in sequence
+    final byte[] decoderMap;
+
+    private Base85Alphabet(String characters) {
+        encoderMap = characters.getBytes(StandardCharsets.US_ASCII);
+        encoderPairMap = new short[85 * 85];
+        boolean littleEndian = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+        for (int i = 0; i < encoderPairMap.length; i++) {
+            int first = toUnsignedInt(encoderMap[i / 85]);
+            int second = toUnsignedInt(encoderMap[i % 85]);
+            encoderPairMap[i] = (short) (littleEndian ? second << 8 | first : first << 8 | second);
+        }
+        decoderMap = new byte[256];// intentionally 256, not 128 to avoid check if byte is below 128
+        Arrays.fill(decoderMap, INVALID);
+        decoderMap['\r'] = WHITESPACE;
+        decoderMap['\n'] = WHITESPACE;
+        decoderMap[' '] = WHITESPACE;
+        decoderMap['\t'] = WHITESPACE;
+        for (int i = 0; i < 85; i++) {
+            decoderMap[toUnsignedInt(encoderMap[i])] = (byte) i;
+        }
+    }
+
+    /**
+     * Creates custom alphabet.
+     *
+     * @param characters 85 distinct printable ASCII characters, whitespace is not allowed
+     * @return alphabet
+     * @throws IllegalArgumentException thrown when number of characters is not 85, characters are not distinct, some of them is not printable ASCII character
+     */
+    public static Base85Alphabet of(String characters) {
+        if (characters.length() != 85) {
+            throw new IllegalArgumentException("Alphabet must contain 85 characters: " + characters.length());
+        }
+        boolean[] used = new boolean[128];
+        for (int i = 0; i < characters.length(); i++) {
+            char c = characters.charAt(i);
+            if (c <= ' ' || c >= 127) {
+                throw new IllegalArgumentException("Alphabet must contain printable ASCII characters only, invalid character at position " + i);
+            } else if (used[c]) {
+                throw new IllegalArgumentException("Alphabet must contain distinct characters, duplicate character at position " + i);
+            }
+            used[c] = true;
+        }
+        return new Base85Alphabet(characters);
+    }
+
+    /**
+     * Returns characters of alphabet ordered by their values.
+     *
+     * @return 85 characters long string
+     */
+    public String characters() {
+        return new String(encoderMap, StandardCharsets.US_ASCII);
+    }
+
+    @Override
+    public String toString() {
+        return "Base85Alphabet{" + characters() + '}';
+    }
+}
@@ -26,4 +26,18 @@ public class UnsafeByteArrayAccess {
         int value = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN ? Integer.reverseBytes(i) : i;
         UNSAFE.putInt(bytes, BYTE_ARRAY_OFFSET + pos, value);
     }
-}
\ No newline at end of file
+
+    public static long bytesToLong(byte[] bytes, int pos) {
+        long value = UNSAFE.getLong(bytes, BYTE_ARRAY_OFFSET + pos);
+        return ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN ? Long.reverseBytes(value) : value;
+    }
+
+    public static void longToBytes(byte[] bytes, int pos, long l) {
+        long value = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN ? Long.reverseBytes(l) : l;
+        UNSAFE.putLong(bytes, BYTE_ARRAY_OFFSET + pos, value);
+    }
+
+    public static void shortToBytesNativeOrder(byte[] bytes, int pos, short s) {
+        UNSAFE.putShort(bytes, BYTE_ARRAY_OFFSET + pos, s);
+    }
+}
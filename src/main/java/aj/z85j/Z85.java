@@ -1,6 +1,9 @@
 package aj.z85j;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.UUID;
+import java.util.zip.Checksum;
 
 import static java.lang.Byte.toUnsignedInt;
 import static java.lang.Integer.toUnsignedLong;
@@ -8,17 +11,15 @@ import static java.lang.Integer.toUnsignedLong;
 //  Z85 encoder respecting ZeroMQ's RFC32
 public class Z85 {
 
-    static final byte[] encoderMap = "0123456789abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ.-:+=^!/*?&<>()[]{}@%$#".getBytes();
+    static final byte[] encoderMap = Base85Alphabet.Z85.encoderMap;
+    static final short[] encoderPairMap = Base85Alphabet.Z85.encoderPairMap;
 
-    private static final byte[] decoderMap;
+    private static final byte[] decoderMap = Base85Alphabet.Z85.decoderMap;
 
-    static {
-        decoderMap = new byte[256];// intentionally 256, not 128 to avoid check if byte is below 128
-        Arrays.fill(decoderMap, (byte) 0xFF);
-        for (int i = 0; i < 85; i++) {
-            decoderMap[toUnsignedInt(encoderMap[i])] = (byte) i;
-        }
-    }
+    private static final byte INVALID = Base85Alphabet.INVALID;
+    private static final byte WHITESPACE = Base85Alphabet.WHITESPACE;
+
+    static final byte LINE_SEPARATOR = '\n';
 
     /**
      * Encodes binary data to Z85.
@@ -41,22 +42,86 @@ public class Z85 {
      */
     public static byte[] encode(byte[] binary, int size) {
         byte[] encoded = new byte[(int) checkEncodedLength(binary.length, size)];
-        for (int i = 0, j = 0; i < binary.length; i += 4, j += 5) {
-            int chunk = UnsafeByteArrayAccess.bytesToInt(binary, i);
+        encodeBlocks(binary, 0, size, encoded, 0);
+        return encoded;
+    }
 
-            int div1 = unsignedIntDiv85(chunk);
-            int div2 = unsignedIntDiv85(div1);
-            encoded[j + 4] = encoderMap[(int) (toUnsignedLong(chunk) - div1 * 85L)];
-            encoded[j + 3] = encoderMap[div1 - div2 * 85];
+    /**
+     * Encodes part of binary data to Z85 into given array, no array is allocated.
+     *
+     * @param binary        binary data
+     * @param offset        position of the first byte to be encoded
+     * @param length        number of bytes to be encoded
+     * @param encoded       target array
+     * @param encodedOffset position in target array where encoded data starts
+     * @return number of encoded bytes written into target array
+     * @throws IllegalArgumentException thrown when given range is out of input array, length is not multiple of 4, encoded data does not fit into target array
+     */
+    public static int encode(byte[] binary, int offset, int length, byte[] encoded, int encodedOffset) {
+        checkRange(binary.length, offset, length);
+        int encodedLength = checkEncodedLength(length, length);
+        checkRange(encoded.length, encodedOffset, encodedLength);
+        encodeBlocks(binary, offset, offset + length, encoded, encodedOffset);
+        return encodedLength;
+    }
 
-            int div3 = unsignedIntDiv85(div2);
-            int div4 = unsignedIntDiv85(div3);
-            encoded[j + 2] = encoderMap[div2 - div3 * 85];
-            encoded[j + 1] = encoderMap[div3 - div4 * 85];
+    private static void encodeBlocks(byte[] binary, int from, int to, byte[] encoded, int encodedOffset) {
+        Base85.encodeBlocksPaired(encoderMap, encoderPairMap, binary, from, to, encoded, encodedOffset);
+    }
+
+    /**
+     * Encodes binary data to Z85 and inserts line separator {@code '\n'} after every {@code blocksPerLine} encoded blocks, no separator is appended after the last line.
+     *
+     * @param binary        binary data
+     * @param blocksPerLine number of 5 characters long blocks per line
+     * @return data encoded in Z85 wrapped into lines
+     * @throws IllegalArgumentException thrown when encoded data exceeds maximum java array size, size of input array is not multiple of 4, blocks per line is not positive
+     */
+    public static byte[] encodeWrapped(byte[] binary, int blocksPerLine) {
+        return encodeWrapped(binary, binary.length, blocksPerLine);
+    }
 
-            encoded[j + 0] = encoderMap[div4];
+    /**
+     * Encodes binary data to Z85 and inserts line separator {@code '\n'} after every {@code blocksPerLine} encoded blocks, no separator is appended after the last line.
+     *
+     * @param binary        binary data
+     * @param size          number of bytes of input array are taken into account
+     * @param blocksPerLine number of 5 characters long blocks per line
+     * @return data encoded in Z85 wrapped into lines
+     * @throws IllegalArgumentException thrown when encoded data exceeds maximum java array size, given size is not multiple of 4 is greater than array size, blocks per line is not positive
+     */
+    public static byte[] encodeWrapped(byte[] binary, int size, int blocksPerLine) {
+        byte[] encoded = new byte[checkEncodedWrappedLength(binary.length, size, blocksPerLine)];
+        int i = 0;
+        int j = 0;
+        int lineSize = blocksPerLine > (size >> 2) ? size : blocksPerLine << 2; // avoid overflow for huge lines
+        while (true) {
+            int lineEnd = size - i > lineSize ? i + lineSize : size;
+            for (; i < lineEnd; i += 4, j += 5) {
+                encodeFour(UnsafeByteArrayAccess.bytesToInt(binary, i), encoded, j);
+            }
+            if (i == size) {
+                return encoded;
+            }
+            encoded[j++] = LINE_SEPARATOR;
         }
-        return encoded;
+    }
+
+    static int checkEncodedWrappedLength(int arraySize, int givenSize, int blocksPerLine) {
+        if (blocksPerLine <= 0) {
+            throw new IllegalArgumentException("Blocks per line must be positive: " + blocksPerLine);
+        }
+        int encodedLength = checkEncodedLength(arraySize, givenSize);
+        int blocks = givenSize >> 2;
+        long wrappedLength = blocks == 0 ? 0 : encodedLength + (long) (blocks - 1) / blocksPerLine;
+        if (wrappedLength > JAVA_MAX_ARRAY_SIZE) {
+            throw new IllegalArgumentException("Not enough space for encoding, " + wrappedLength + " bytes would be needed, " + JAVA_MAX_ARRAY_SIZE + " bytes are allowed at most");
+        }
+        return (int) wrappedLength;
+    }
+
+    private static void encodeFour(int chunk, byte[] encoded, int j) {
+        Base85.encodeFourPaired(encoderMap, encoderPairMap, chunk, encoded, j);
     }
 
     static final int JAVA_MAX_ARRAY_SIZE = Integer.MAX_VALUE - 2;
@@ -102,19 +167,33 @@ public class Z85 {
      */
     public static byte[] decode(byte[] encoded, int size) {
         byte[] decoded = new byte[checkDecodedLength(encoded.length, size)];
-        for (int i = 0, j = 0; i < encoded.length; i += 5, j += 4) {
-            if (containsInvalidCharactersInFive(encoded, i)) {
-                throw new IllegalArgumentException("Invalid encoding at position " + i);
-            }
-            long chunk = decodeFive(encoded, i);
-            if ((chunk >>> 32) != 0) { // decoded value outside integer range
-                throw new IllegalArgumentException("Invalid encoding at position " + i);
-            }
-            UnsafeByteArrayAccess.intToBytes(decoded, j, (int) chunk);
-        }
+        decodeBlocks(encoded, 0, size, decoded, 0);
         return decoded;
     }
 
+    /**
+     * Decodes part of Z85 encoded data into given array, no array is allocated.
+     *
+     * @param encoded       data encoded in Z85
+     * @param offset        position of the first character to be decoded
+     * @param length        number of characters to be decoded
+     * @param decoded       target array
+     * @param decodedOffset position in target array where decoded data starts
+     * @return number of decoded bytes written into target array
+     * @throws IllegalArgumentException thrown when invalid characters are found, decoded data exceeds integer range, given range is out of input array, length is not multiple of 5, decoded data does not fit into target array
+     */
+    public static int decode(byte[] encoded, int offset, int length, byte[] decoded, int decodedOffset) {
+        checkRange(encoded.length, offset, length);
+        int decodedLength = checkDecodedLength(length, length);
+        checkRange(decoded.length, decodedOffset, decodedLength);
+        decodeBlocks(encoded, offset, offset + length, decoded, decodedOffset);
+        return decodedLength;
+    }
+
+    private static void decodeBlocks(byte[] encoded, int from, int to, byte[] decoded, int decodedOffset) {
+        Base85.decodeBlocksDeferred(decoderMap, encoded, from, to, decoded, decodedOffset);
+    }
+
     /**
      * Decodes string from Z85.
      *
@@ -136,20 +215,338 @@ public class Z85 {
      */
     public static byte[] decode(String encoded, int size) {
         byte[] decoded = new byte[checkDecodedLength(encoded.length(), size)];
-        for (int i = 0, j = 0; i < encoded.length(); i += 5, j += 4) {
-            if (containsNonAsciiInFive(encoded, i)) { // to avoid array index out of bounds exception
-                throw new IllegalArgumentException("Invalid encoding at position " + i);
+        decodeBlocks(encoded, 0, size, decoded, 0);
+        return decoded;
+    }
+
+    /**
+     * Decodes part of string encoded in Z85 into given array, no array is allocated.
+     *
+     * @param encoded       string encoded in Z85
+     * @param offset        position of the first character to be decoded
+     * @param length        number of characters to be decoded
+     * @param decoded       target array
+     * @param decodedOffset position in target array where decoded data starts
+     * @return number of decoded bytes written into target array
+     * @throws IllegalArgumentException thrown when invalid characters are found, decoded data exceeds integer range, given range is out of string, length is not multiple of 5, decoded data does not fit into target array
+     */
+    public static int decode(String encoded, int offset, int length, byte[] decoded, int decodedOffset) {
+        checkRange(encoded.length(), offset, length);
+        int decodedLength = checkDecodedLength(length, length);
+        checkRange(decoded.length, decodedOffset, decodedLength);
+        decodeBlocks(encoded, offset, offset + length, decoded, decodedOffset);
+        return decodedLength;
+    }
+
+    private static void decodeBlocks(String encoded, int from, int to, byte[] decoded, int decodedOffset) {
+        Base85.decodeBlocksDeferred(decoderMap, encoded, from, to, decoded, decodedOffset);
+    }
+
+    // binary bytes per checksum update, batch is still in L1 cache when checksum reads it after decoding or before encoding
+    static final int CHECKSUM_BATCH_SIZE = 8 * 1024;
+
+    /**
+     * Encodes binary data to Z85 and updates checksum by binary data in the same pass.
+     * {@code java.util.zip.CRC32} and {@code CRC32C} updates are intrinsified by JVM, so they add only a fraction of encoding time.
+     *
+     * @param binary   binary data
+     * @param checksum checksum updated by binary data
+     * @return data encoded in Z85
+     * @throws IllegalArgumentException thrown when encoded data exceeds maximum java array size, size of input array is not multiple of 4
+     */
+    public static byte[] encode(byte[] binary, Checksum checksum) {
+        byte[] encoded = new byte[checkEncodedLength(binary.length, binary.length)];
+        encodeBlocks(binary, 0, binary.length, encoded, 0, checksum);
+        return encoded;
+    }
+
+    /**
+     * Encodes part of binary data to Z85 into given array and updates checksum by the part of binary data in the same pass, no array is allocated.
+     *
+     * @param binary        binary data
+     * @param offset        position of the first byte to be encoded
+     * @param length        number of bytes to be encoded
+     * @param encoded       target array
+     * @param encodedOffset position in target array where encoded data starts
+     * @param checksum      checksum updated by binary data
+     * @return number of encoded bytes written into target array
+     * @throws IllegalArgumentException thrown when given range is out of input array, length is not multiple of 4, encoded data does not fit into target array
+     */
+    public static int encode(byte[] binary, int offset, int length, byte[] encoded, int encodedOffset, Checksum checksum) {
+        checkRange(binary.length, offset, length);
+        int encodedLength = checkEncodedLength(length, length);
+        checkRange(encoded.length, encodedOffset, encodedLength);
+        encodeBlocks(binary, offset, offset + length, encoded, encodedOffset, checksum);
+        return encodedLength;
+    }
+
+    private static void encodeBlocks(byte[] binary, int from, int to, byte[] encoded, int encodedOffset, Checksum checksum) {
+        for (int i = from, j = encodedOffset; i < to; ) {
+            int batchEnd = to - i > CHECKSUM_BATCH_SIZE ? i + CHECKSUM_BATCH_SIZE : to;
+            checksum.update(binary, i, batchEnd - i);
+            encodeBlocks(binary, i, batchEnd, encoded, j);
+            j += (batchEnd - i) / 4 * 5;
+            i = batchEnd;
+        }
+    }
+
+    /**
+     * Decodes binary data from Z85 and updates checksum by decoded data in the same pass.
+     * When exception is thrown, checksum could be already updated by data preceding the invalid block.
+     *
+     * @param encoded  data encoded in Z85
+     * @param checksum checksum updated by decoded data
+     * @return binary data
+     * @throws IllegalArgumentException thrown when invalid characters are found, decoded data exceeds integer range, size of input array is not multiple of 5
+     */
+    public static byte[] decode(byte[] encoded, Checksum checksum) {
+        byte[] decoded = new byte[checkDecodedLength(encoded.length, encoded.length)];
+        decodeBlocks(encoded, 0, encoded.length, decoded, 0, checksum);
+        return decoded;
+    }
+
+    /**
+     * Decodes part of Z85 encoded data into given array and updates checksum by decoded data in the same pass, no array is allocated.
+     * When exception is thrown, checksum could be already updated by data preceding the invalid block.
+     *
+     * @param encoded       data encoded in Z85
+     * @param offset        position of the first character to be decoded
+     * @param length        number of characters to be decoded
+     * @param decoded       target array
+     * @param decodedOffset position in target array where decoded data starts
+     * @param checksum      checksum updated by decoded data
+     * @return number of decoded bytes written into target array
+     * @throws IllegalArgumentException thrown when invalid characters are found, decoded data exceeds integer range, given range is out of input array, length is not multiple of 5, decoded data does not fit into target array
+     */
+    public static int decode(byte[] encoded, int offset, int length, byte[] decoded, int decodedOffset, Checksum checksum) {
+        checkRange(encoded.length, offset, length);
+        int decodedLength = checkDecodedLength(length, length);
+        checkRange(decoded.length, decodedOffset, decodedLength);
+        decodeBlocks(encoded, offset, offset + length, decoded, decodedOffset, checksum);
+        return decodedLength;
+    }
+
+    /**
+     * Decodes string from Z85 and updates checksum by decoded data in the same pass.
+     * When exception is thrown, checksum could be already updated by data preceding the invalid block.
+     *
+     * @param encoded  string encoded in Z85
+     * @param checksum checksum updated by decoded data
+     * @return binary data
+     * @throws IllegalArgumentException thrown when invalid characters are found, decoded data exceeds integer range, length of string is not multiple of 5
+     */
+    public static byte[] decode(String encoded, Checksum checksum) {
+        byte[] decoded = new byte[checkDecodedLength(encoded.length(), encoded.length())];
+        for (int i = 0, j = 0; i < encoded.length(); ) {
+            int batchEnd = encoded.length() - i > CHECKSUM_BATCH_SIZE / 4 * 5 ? i + CHECKSUM_BATCH_SIZE / 4 * 5 : encoded.length();
+            decodeBlocks(encoded, i, batchEnd, decoded, j);
+            int decodedLength = (batchEnd - i) / 5 * 4;
+            checksum.update(decoded, j, decodedLength);
+            j += decodedLength;
+            i = batchEnd;
+        }
+        return decoded;
+    }
+
+    private static void decodeBlocks(byte[] encoded, int from, int to, byte[] decoded, int decodedOffset, Checksum checksum) {
+        for (int i = from, j = decodedOffset; i < to; ) {
+            int batchEnd = to - i > CHECKSUM_BATCH_SIZE / 4 * 5 ? i + CHECKSUM_BATCH_SIZE / 4 * 5 : to;
+            decodeBlocks(encoded, i, batchEnd, decoded, j);
+            int decodedLength = (batchEnd - i) / 5 * 4;
+            checksum.update(decoded, j, decodedLength);
+            j += decodedLength;
+            i = batchEnd;
+        }
+    }
+
+    /**
+     * Decodes binary data from Z85, whitespace characters (CR, LF, space, tab) are skipped wherever they occur, even inside of block.
+     * When any whitespace is present, decoded data are copied once into array of exact size, {@link #decodeIgnoringWhitespace(byte[], int, byte[], int)} avoids the copy for large inputs.
+     *
+     * @param encoded data encoded in Z85, possibly wrapped into lines
+     * @return binary data
+     * @throws IllegalArgumentException thrown when invalid characters are found, decoded data exceeds integer range, number of non-whitespace characters is not multiple of 5
+     */
+    public static byte[] decodeIgnoringWhitespace(byte[] encoded) {
+        return decodeIgnoringWhitespace(encoded, encoded.length);
+    }
+
+    /**
+     * Decodes binary data from Z85, whitespace characters (CR, LF, space, tab) are skipped wherever they occur, even inside of block.
+     * When any whitespace is present, decoded data are copied once into array of exact size, {@link #decodeIgnoringWhitespace(byte[], int, byte[], int)} avoids the copy for large inputs.
+     *
+     * @param encoded data encoded in Z85, possibly wrapped into lines
+     * @param size    number of bytes of input array are taken into account
+     * @return binary data
+     * @throws IllegalArgumentException thrown when invalid characters are found, decoded data exceeds integer range, number of non-whitespace characters is not multiple of 5, given size is greater than array size
+     */
+    public static byte[] decodeIgnoringWhitespace(byte[] encoded, int size) {
+        byte[] decoded = new byte[checkDecodedLengthIgnoringWhitespace(encoded.length, size)];
+        int length = decodeIgnoringWhitespace(encoded, size, decoded, 0);
+        return length == decoded.length ? decoded : Arrays.copyOf(decoded, length);
+    }
+
+    /**
+     * Decodes binary data from Z85 into given array, whitespace characters (CR, LF, space, tab) are skipped wherever they occur, even inside of block.
+     * Unlike methods returning array, it never copies decoded data, so it is preferred for large inputs.
+     *
+     * @param encoded data encoded in Z85, possibly wrapped into lines
+     * @param size    number of bytes of input array are taken into account
+     * @param decoded target array
+     * @param offset  position in target array where decoded data starts
+     * @return number of decoded bytes
+     * @throws IllegalArgumentException thrown when invalid characters are found, decoded data exceeds integer range, number of non-whitespace characters is not multiple of 5, given size is greater than array size, decoded data does not fit into target array
+     */
+    public static int decodeIgnoringWhitespace(byte[] encoded, int size, byte[] decoded, int offset) {
+        checkDecodedLengthIgnoringWhitespace(encoded.length, size);
+        checkOffset(decoded.length, offset);
+        int limit = decoded.length - 4;
+        int i = 0;
+        int j = offset;
+        while (true) {
+            while (i < size && decoderMap[toUnsignedInt(encoded[i])] == WHITESPACE) {
+                i++;
             }
-            if (containsInvalidCharactersInFive(encoded, i)) {
-                throw new IllegalArgumentException("Invalid encoding at position " + i);
+            if (i == size) {
+                return j - offset;
+            }
+            if (j > limit) {
+                throw new IllegalArgumentException("Not enough space for decoding at position " + i + ", target array size is " + decoded.length);
+            }
+            long chunk;
+            int blockStart = i;
+            if (size - i >= 5 && !containsInvalidCharactersInFive(encoded, i)) { // block not interrupted by whitespace
+                chunk = decodeFive(encoded, i);
+                i += 5;
+            } else {
+                chunk = 0;
+                for (int count = 0; count < 5; i++) {
+                    if (i == size) {
+                        throw new IllegalArgumentException("Number of non-whitespace characters must be multiple of 5, incomplete block at position " + blockStart);
+                    }
+                    byte value = decoderMap[toUnsignedInt(encoded[i])];
+                    if (value == WHITESPACE) {
+                        continue;
+                    }
+                    if (value == INVALID) {
+                        throw new IllegalArgumentException("Invalid encoding at position " + i);
+                    }
+                    chunk = chunk * 85 + value;
+                    count++;
+                }
             }
-            long chunk = decodeFive(encoded, i);
             if ((chunk >>> 32) != 0) { // decoded value outside integer range
-                throw new IllegalArgumentException("Invalid encoding at position " + i);
+                throw new IllegalArgumentException("Invalid encoding at position " + blockStart);
             }
             UnsafeByteArrayAccess.intToBytes(decoded, j, (int) chunk);
+            j += 4;
         }
-        return decoded;
+    }
+
+    /**
+     * Decodes string from Z85, whitespace characters (CR, LF, space, tab) are skipped wherever they occur, even inside of block.
+     * When any whitespace is present, decoded data are copied once into array of exact size, {@link #decodeIgnoringWhitespace(String, int, byte[], int)} avoids the copy for large inputs.
+     *
+     * @param encoded string encoded in Z85, possibly wrapped into lines
+     * @return binary data
+     * @throws IllegalArgumentException thrown when invalid characters are found, decoded data exceeds integer range, number of non-whitespace characters is not multiple of 5
+     */
+    public static byte[] decodeIgnoringWhitespace(String encoded) {
+        return decodeIgnoringWhitespace(encoded, encoded.length());
+    }
+
+    /**
+     * Decodes string from Z85, whitespace characters (CR, LF, space, tab) are skipped wherever they occur, even inside of block.
+     * When any whitespace is present, decoded data are copied once into array of exact size, {@link #decodeIgnoringWhitespace(String, int, byte[], int)} avoids the copy for large inputs.
+     *
+     * @param encoded string encoded in Z85, possibly wrapped into lines
+     * @param size    number of characters of input string are taken into account
+     * @return binary data
+     * @throws IllegalArgumentException thrown when invalid characters are found, decoded data exceeds integer range, number of non-whitespace characters is not multiple of 5, given size is greater than string length
+     */
+    public static byte[] decodeIgnoringWhitespace(String encoded, int size) {
+        byte[] decoded = new byte[checkDecodedLengthIgnoringWhitespace(encoded.length(), size)];
+        int length = decodeIgnoringWhitespace(encoded, size, decoded, 0);
+        return length == decoded.length ? decoded : Arrays.copyOf(decoded, length);
+    }
+
+    /**
+     * Decodes string from Z85 into given array, whitespace characters (CR, LF, space, tab) are skipped wherever they occur, even inside of block.
+     * Unlike methods returning array, it never copies decoded data, so it is preferred for large inputs.
+     *
+     * @param encoded string encoded in Z85, possibly wrapped into lines
+     * @param size    number of characters of input string are taken into account
+     * @param decoded target array
+     * @param offset  position in target array where decoded data starts
+     * @return number of decoded bytes
+     * @throws IllegalArgumentException thrown when invalid characters are found, decoded data exceeds integer range, number of non-whitespace characters is not multiple of 5, given size is greater than string length, decoded data does not fit into target array
+     */
+    public static int decodeIgnoringWhitespace(String encoded, int size, byte[] decoded, int offset) {
+        checkDecodedLengthIgnoringWhitespace(encoded.length(), size);
+        checkOffset(decoded.length, offset);
+        int limit = decoded.length - 4;
+        int i = 0;
+        int j = offset;
+        while (true) {
+            while (i < size && decoderMapAt(encoded.charAt(i)) == WHITESPACE) {
+                i++;
+            }
+            if (i == size) {
+                return j - offset;
+            }
+            if (j > limit) {
+                throw new IllegalArgumentException("Not enough space for decoding at position " + i + ", target array size is " + decoded.length);
+            }
+            long chunk;
+            int blockStart = i;
+            if (size - i >= 5 && !containsNonAsciiInFive(encoded, i) && !containsInvalidCharactersInFive(encoded, i)) { // block not interrupted by whitespace
+                chunk = decodeFive(encoded, i);
+                i += 5;
+            } else {
+                chunk = 0;
+                for (int count = 0; count < 5; i++) {
+                    if (i == size) {
+                        throw new IllegalArgumentException("Number of non-whitespace characters must be multiple of 5, incomplete block at position " + blockStart);
+                    }
+                    byte value = decoderMapAt(encoded.charAt(i));
+                    if (value == WHITESPACE) {
+                        continue;
+                    }
+                    if (value == INVALID) {
+                        throw new IllegalArgumentException("Invalid encoding at position " + i);
+                    }
+                    chunk = chunk * 85 + value;
+                    count++;
+                }
+            }
+            if ((chunk >>> 32) != 0) { // decoded value outside integer range
+                throw new IllegalArgumentException("Invalid encoding at position " + blockStart);
+            }
+            UnsafeByteArrayAccess.intToBytes(decoded, j, (int) chunk);
+            j += 4;
+        }
+    }
+
+    // upper bound of decoded length, exact when input contains no whitespace
+    static int checkDecodedLengthIgnoringWhitespace(int arraySize, int givenSize) {
+        if (givenSize > arraySize) {
+            throw new IllegalArgumentException("Size is greater than length of array: " + givenSize + " > " + arraySize);
+        } else if (givenSize < 0) {
+            throw new IllegalArgumentException("Size must be positive: " + givenSize);
+        }
+        return unsignedIntDiv5(givenSize) * 4;
+    }
+
+    static void checkOffset(int arraySize, int offset) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must be positive: " + offset);
+        } else if (offset > arraySize) {
+            throw new IllegalArgumentException("Offset is greater than array size: " + offset + " > " + arraySize);
+        }
+    }
+
+    private static byte decoderMapAt(char c) {
+        return c < 256 ? decoderMap[c] : INVALID;
     }
 
     static int checkDecodedLength(int arraySize, int givenSize) {
@@ -212,6 +609,298 @@ public class Z85 {
         return true;
     }
 
+    static final int INT_ENCODED_LENGTH = 5;
+    static final int LONG_ENCODED_LENGTH = 10;
+    static final int UUID_ENCODED_LENGTH = 20;
+
+    /**
+     * Encodes integer to Z85, result is equal to encoding its 4 bytes in big-endian order.
+     *
+     * @param value integer value
+     * @return 5 characters long string
+     */
+    public static String encodeInt(int value) {
+        byte[] encoded = new byte[INT_ENCODED_LENGTH];
+        encodeFour(value, encoded, 0);
+        return new String(encoded, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Encodes long to Z85, result is equal to encoding its 8 bytes in big-endian order.
+     *
+     * @param value long value
+     * @return 10 characters long string
+     */
+    public static String encodeLong(long value) {
+        byte[] encoded = new byte[LONG_ENCODED_LENGTH];
+        appendLong(value, encoded, 0);
+        return new String(encoded, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Encodes UUID to Z85, result is equal to encoding its 16 bytes in big-endian order - most significant bits first.
+     *
+     * @param uuid UUID
+     * @return 20 characters long string
+     */
+    public static String encodeUuid(UUID uuid) {
+        byte[] encoded = new byte[UUID_ENCODED_LENGTH];
+        appendUuid(uuid, encoded, 0);
+        return new String(encoded, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Appends integer encoded in Z85 to string builder.
+     *
+     * @param value integer value
+     * @param sb    target string builder
+     * @return given string builder
+     */
+    public static StringBuilder appendInt(int value, StringBuilder sb) {
+        int div1 = unsignedIntDiv85(value);
+        int div2 = unsignedIntDiv85(div1);
+        int div3 = unsignedIntDiv85(div2);
+        int div4 = unsignedIntDiv85(div3);
+        return sb.append((char) encoderMap[div4])
+                .append((char) encoderMap[div3 - div4 * 85])
+                .append((char) encoderMap[div2 - div3 * 85])
+                .append((char) encoderMap[div1 - div2 * 85])
+                .append((char) encoderMap[(int) (toUnsignedLong(value) - div1 * 85L)]);
+    }
+
+    /**
+     * Appends long encoded in Z85 to string builder.
+     *
+     * @param value long value
+     * @param sb    target string builder
+     * @return given string builder
+     */
+    public static StringBuilder appendLong(long value, StringBuilder sb) {
+        return appendInt((int) value, appendInt((int) (value >>> 32), sb));
+    }
+
+    /**
+     * Appends UUID encoded in Z85 to string builder.
+     *
+     * @param uuid UUID
+     * @param sb   target string builder
+     * @return given string builder
+     */
+    public static StringBuilder appendUuid(UUID uuid, StringBuilder sb) {
+        return appendLong(uuid.getLeastSignificantBits(), appendLong(uuid.getMostSignificantBits(), sb));
+    }
+
+    /**
+     * Writes integer encoded in Z85 into given array.
+     *
+     * @param value   integer value
+     * @param encoded target array
+     * @param offset  position in target array where 5 encoded characters starts
+     * @return position in target array following the last written character
+     * @throws IllegalArgumentException thrown when encoded value does not fit into target array
+     */
+    public static int appendInt(int value, byte[] encoded, int offset) {
+        checkRange(encoded.length, offset, INT_ENCODED_LENGTH);
+        encodeFour(value, encoded, offset);
+        return offset + INT_ENCODED_LENGTH;
+    }
+
+    /**
+     * Writes long encoded in Z85 into given array.
+     *
+     * @param value   long value
+     * @param encoded target array
+     * @param offset  position in target array where 10 encoded characters starts
+     * @return position in target array following the last written character
+     * @throws IllegalArgumentException thrown when encoded value does not fit into target array
+     */
+    public static int appendLong(long value, byte[] encoded, int offset) {
+        checkRange(encoded.length, offset, LONG_ENCODED_LENGTH);
+        encodeFour((int) (value >>> 32), encoded, offset);
+        encodeFour((int) value, encoded, offset + 5);
+        return offset + LONG_ENCODED_LENGTH;
+    }
+
+    /**
+     * Writes UUID encoded in Z85 into given array.
+     *
+     * @param uuid    UUID
+     * @param encoded target array
+     * @param offset  position in target array where 20 encoded characters starts
+     * @return position in target array following the last written character
+     * @throws IllegalArgumentException thrown when encoded value does not fit into target array
+     */
+    public static int appendUuid(UUID uuid, byte[] encoded, int offset) {
+        checkRange(encoded.length, offset, UUID_ENCODED_LENGTH);
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+        encodeFour((int) (msb >>> 32), encoded, offset);
+        encodeFour((int) msb, encoded, offset + 5);
+        encodeFour((int) (lsb >>> 32), encoded, offset + 10);
+        encodeFour((int) lsb, encoded, offset + 15);
+        return offset + UUID_ENCODED_LENGTH;
+    }
+
+    /**
+     * Decodes integer from Z85.
+     *
+     * @param encoded 5 characters long string
+     * @return integer value
+     * @throws IllegalArgumentException thrown when invalid characters are found, decoded data exceeds integer range, length of string is not 5
+     */
+    public static int decodeInt(String encoded) {
+        checkExactLength(encoded.length(), INT_ENCODED_LENGTH);
+        return decodeInt(encoded, 0);
+    }
+
+    /**
+     * Decodes integer from Z85 starting at given position of string.
+     *
+     * @param encoded string containing 5 encoded characters at given position
+     * @param offset  position of the first encoded character
+     * @return integer value
+     * @throws IllegalArgumentException thrown when invalid characters are found, decoded data exceeds integer range, string is too short
+     */
+    public static int decodeInt(String encoded, int offset) {
+        checkRange(encoded.length(), offset, INT_ENCODED_LENGTH);
+        return decodeIntAt(encoded, offset);
+    }
+
+    /**
+     * Decodes integer from Z85 starting at given position of array.
+     *
+     * @param encoded array containing 5 encoded characters at given position
+     * @param offset  position of the first encoded character
+     * @return integer value
+     * @throws IllegalArgumentException thrown when invalid characters are found, decoded data exceeds integer range, array is too short
+     */
+    public static int decodeInt(byte[] encoded, int offset) {
+        checkRange(encoded.length, offset, INT_ENCODED_LENGTH);
+        return decodeIntAt(encoded, offset);
+    }
+
+    /**
+     * Decodes long from Z85.
+     *
+     * @param encoded 10 characters long string
+     * @return long value
+     * @throws IllegalArgumentException thrown when invalid characters are found, decoded data exceeds integer range, length of string is not 10
+     */
+    public static long decodeLong(String encoded) {
+        checkExactLength(encoded.length(), LONG_ENCODED_LENGTH);
+        return decodeLong(encoded, 0);
+    }
+
+    /**
+     * Decodes long from Z85 starting at given position of string.
+     *
+     * @param encoded string containing 10 encoded characters at given position
+     * @param offset  position of the first encoded character
+     * @return long value
+     * @throws IllegalArgumentException thrown when invalid characters are found, decoded data exceeds integer range, string is too short
+     */
+    public static long decodeLong(String encoded, int offset) {
+        checkRange(encoded.length(), offset, LONG_ENCODED_LENGTH);
+        return decodeLongAt(encoded, offset);
+    }
+
+    /**
+     * Decodes long from Z85 starting at given position of array.
+     *
+     * @param encoded array containing 10 encoded characters at given position
+     * @param offset  position of the first encoded character
+     * @return long value
+     * @throws IllegalArgumentException thrown when invalid characters are found, decoded data exceeds integer range, array is too short
+     */
+    public static long decodeLong(byte[] encoded, int offset) {
+        checkRange(encoded.length, offset, LONG_ENCODED_LENGTH);
+        return decodeLongAt(encoded, offset);
+    }
+
+    /**
+     * Decodes UUID from Z85.
+     *
+     * @param encoded 20 characters long string
+     * @return UUID
+     * @throws IllegalArgumentException thrown when invalid characters are found, decoded data exceeds integer range, length of string is not 20
+     */
+    public static UUID decodeUuid(String encoded) {
+        checkExactLength(encoded.length(), UUID_ENCODED_LENGTH);
+        return decodeUuid(encoded, 0);
+    }
+
+    /**
+     * Decodes UUID from Z85 starting at given position of string.
+     *
+     * @param encoded string containing 20 encoded characters at given position
+     * @param offset  position of the first encoded character
+     * @return UUID
+     * @throws IllegalArgumentException thrown when invalid characters are found, decoded data exceeds integer range, string is too short
+     */
+    public static UUID decodeUuid(String encoded, int offset) {
+        checkRange(encoded.length(), offset, UUID_ENCODED_LENGTH);
+        return new UUID(decodeLongAt(encoded, offset), decodeLongAt(encoded, offset + 10));
+    }
+
+    /**
+     * Decodes UUID from Z85 starting at given position of array.
+     *
+     * @param encoded array containing 20 encoded characters at given position
+     * @param offset  position of the first encoded character
+     * @return UUID
+     * @throws IllegalArgumentException thrown when invalid characters are found, decoded data exceeds integer range, array is too short
+     */
+    public static UUID decodeUuid(byte[] encoded, int offset) {
+        checkRange(encoded.length, offset, UUID_ENCODED_LENGTH);
+        return new UUID(decodeLongAt(encoded, offset), decodeLongAt(encoded, offset + 10));
+    }
+
+    static void checkRange(int arraySize, int offset, int length) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must be positive: " + offset);
+        } else if (length < 0) {
+            throw new IllegalArgumentException("Length must be positive: " + length);
+        } else if (offset > arraySize - length) {
+            throw new IllegalArgumentException("Range of " + length + " bytes at offset " + offset + " exceeds array size " + arraySize);
+        }
+    }
+
+    private static void checkExactLength(int size, int expected) {
+        if (size != expected) {
+            throw new IllegalArgumentException("Length must be " + expected + ": " + size);
+        }
+    }
+
+    private static long decodeLongAt(String encoded, int pos) {
+        return (toUnsignedLong(decodeIntAt(encoded, pos)) << 32) | toUnsignedLong(decodeIntAt(encoded, pos + 5));
+    }
+
+    private static long decodeLongAt(byte[] encoded, int pos) {
+        return (toUnsignedLong(decodeIntAt(encoded, pos)) << 32) | toUnsignedLong(decodeIntAt(encoded, pos + 5));
+    }
+
+    private static int decodeIntAt(String encoded, int pos) {
+        if (containsNonAsciiInFive(encoded, pos) || containsInvalidCharactersInFive(encoded, pos)) {
+            throw new IllegalArgumentException("Invalid encoding at position " + pos);
+        }
+        long chunk = decodeFive(encoded, pos);
+        if ((chunk >>> 32) != 0) { // decoded value outside integer range
+            throw new IllegalArgumentException("Invalid encoding at position " + pos);
+        }
+        return (int) chunk;
+    }
+
+    private static int decodeIntAt(byte[] encoded, int pos) {
+        if (containsInvalidCharactersInFive(encoded, pos)) {
+            throw new IllegalArgumentException("Invalid encoding at position " + pos);
+        }
+        long chunk = decodeFive(encoded, pos);
+        if ((chunk >>> 32) != 0) { // decoded value outside integer range
+            throw new IllegalArgumentException("Invalid encoding at position " + pos);
+        }
+        return (int) chunk;
+    }
+
     private static final int MOD5 = (int) ((1L << 32) / 5);
 
     static int unsignedIntDiv5(int i) {
@@ -225,42 +914,22 @@ public class Z85 {
     }
 
     private static boolean containsInvalidCharactersInFive(String encoded, int pos) {
-        return ((decoderMap[encoded.charAt(pos + 4)]
-                | decoderMap[encoded.charAt(pos + 3)]
-                | decoderMap[encoded.charAt(pos + 2)]
-                | decoderMap[encoded.charAt(pos + 1)]
-                | decoderMap[encoded.charAt(pos + 0)]) & 0xFF_FF_FF_00) != 0;
+        return Base85.containsInvalidCharactersInFive(decoderMap, encoded, pos);
     }
 
     private static boolean containsNonAsciiInFive(String encoded, int pos) {
-        return ((encoded.charAt(pos)
-                | encoded.charAt(pos + 1)
-                | encoded.charAt(pos + 2)
-                | encoded.charAt(pos + 3)
-                | encoded.charAt(pos + 4)) & 0xFF_FF_FF_00) != 0;
+        return Base85.containsNonAsciiInFive(encoded, pos);
     }
 
     private static boolean containsInvalidCharactersInFive(byte[] encoded, int pos) {
-        return ((decoderMap[toUnsignedInt(encoded[pos + 4])]
-                | decoderMap[toUnsignedInt(encoded[pos + 3])]
-                | decoderMap[toUnsignedInt(encoded[pos + 2])]
-                | decoderMap[toUnsignedInt(encoded[pos + 1])]
-                | decoderMap[toUnsignedInt(encoded[pos + 0])]) & 0xFF_FF_FF_00) != 0;
+        return Base85.containsInvalidCharactersInFive(decoderMap, encoded, pos);
     }
 
     private static long decodeFive(String encoded, int pos) {
-        return decoderMap[encoded.charAt(pos + 4)]
-                + 85 * (decoderMap[encoded.charAt(pos + 3)]
-                + 85 * (decoderMap[encoded.charAt(pos + 2)]
-                + 85 * (decoderMap[encoded.charAt(pos + 1)]
-                + 85L * (decoderMap[encoded.charAt(pos + 0)]))));
+        return Base85.decodeFive(decoderMap, encoded, pos);
     }
 
     private static long decodeFive(byte[] encoded, int pos) {
-        return decoderMap[toUnsignedInt(encoded[pos + 4])]
-                + 85 * (decoderMap[toUnsignedInt(encoded[pos + 3])]
-                + 85 * (decoderMap[toUnsignedInt(encoded[pos + 2])]
-                + 85 * (decoderMap[toUnsignedInt(encoded[pos + 1])]
-                + 85L * (decoderMap[toUnsignedInt(encoded[pos + 0])]))));
+        return Base85.decodeFive(decoderMap, encoded, pos);
     }
 }
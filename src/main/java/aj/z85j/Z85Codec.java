@@ -0,0 +1,366 @@
+package aj.z85j;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Z85 encoder / decoder writing its results into reusable buffers taken from a bounded pool, so repeated calls do not allocate new output arrays.
+ * Buffers are grouped into size classes of powers of two, long-lived pooled buffers are promoted to the old generation once and then reused,
+ * so large temporary arrays do not churn through the young generation under sustained load. Instances are thread-safe.
+ * <p>
+ * Every result is returned as a {@link Lease} which has to be closed to give its buffer back to the pool, preferably by try-with-resources:
+ * <pre>{@code
+ * try (Z85Codec.Lease encoded = codec.encode(binary)) {
+ *     out.write(encoded.array(), 0, encoded.length());
+ * }
+ * }</pre>
+ */
+public final class Z85Codec {
+
+    static final int DEFAULT_MAX_BUFFERS_PER_CLASS = 16;
+    static final int DEFAULT_MAX_BUFFER_SIZE = 64 * 1024 * 1024;
+
+    private static final int MIN_SIZE_CLASS = 6; // 64 bytes
+    private static final int MAX_SIZE_CLASS = 30; // 1 GiB, greater powers of two do not fit into java array
+
+    private final int maxBufferSize;
+    private final byte[][][] pool; // stack of free buffers per size class, guarded by stack itself
+    private final int[] pooledCounts; // guarded by corresponding stack in pool
+
+    private final LongAdder leases = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder releases = new LongAdder();
+    private final LongAdder discards = new LongAdder();
+
+    /**
+     * Creates codec pooling up to 16 buffers per size class, buffers greater than 64 MiB are not pooled.
+     */
+    public Z85Codec() {
+        this(DEFAULT_MAX_BUFFERS_PER_CLASS, DEFAULT_MAX_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates codec with bounded pool.
+     *
+     * @param maxBuffersPerClass maximum number of free buffers kept for every size class
+     * @param maxBufferSize      maximum size of pooled buffer, greater buffers are allocated for every call and left to garbage collector
+     * @throws IllegalArgumentException thrown when any of limits is negative
+     */
+    public Z85Codec(int maxBuffersPerClass, int maxBufferSize) {
+        if (maxBuffersPerClass < 0) {
+            throw new IllegalArgumentException("Maximum number of buffers per class must be positive: " + maxBuffersPerClass);
+        } else if (maxBufferSize < 0) {
+            throw new IllegalArgumentException("Maximum buffer size must be positive: " + maxBufferSize);
+        }
+        this.maxBufferSize = maxBufferSize;
+        this.pool = new byte[MAX_SIZE_CLASS + 1][maxBuffersPerClass][];
+        this.pooledCounts = new int[MAX_SIZE_CLASS + 1];
+    }
+
+    /**
+     * Encodes binary data to Z85 into pooled buffer.
+     *
+     * @param binary binary data
+     * @return lease of buffer containing encoded data
+     * @throws IllegalArgumentException thrown when encoded data exceeds maximum java array size, size of input array is not multiple of 4
+     */
+    public Lease encode(byte[] binary) {
+        return encode(binary, 0, binary.length);
+    }
+
+    /**
+     * Encodes part of binary data to Z85 into pooled buffer.
+     *
+     * @param binary binary data
+     * @param offset position of the first byte to be encoded
+     * @param length number of bytes to be encoded
+     * @return lease of buffer containing encoded data
+     * @throws IllegalArgumentException thrown when given range is out of input array, length is not multiple of 4, encoded data exceeds maximum java array size
+     */
+    public Lease encode(byte[] binary, int offset, int length) {
+        Z85.checkRange(binary.length, offset, length);
+        Lease lease = lease(Z85.checkEncodedLength(length, length));
+        try {
+            lease.length = Z85.encode(binary, offset, length, lease.array, 0);
+        } catch (RuntimeException e) {
+            lease.close();
+            throw e;
+        }
+        return lease;
+    }
+
+    /**
+     * Decodes binary data from Z85 into pooled buffer.
+     *
+     * @param encoded data encoded in Z85
+     * @return lease of buffer containing decoded data
+     * @throws IllegalArgumentException thrown when invalid characters are found, decoded data exceeds integer range, size of input array is not multiple of 5
+     */
+    public Lease decode(byte[] encoded) {
+        return decode(encoded, 0, encoded.length);
+    }
+
+    /**
+     * Decodes part of Z85 encoded data into pooled buffer.
+     *
+     * @param encoded data encoded in Z85
+     * @param offset  position of the first character to be decoded
+     * @param length  number of characters to be decoded
+     * @return lease of buffer containing decoded data
+     * @throws IllegalArgumentException thrown when invalid characters are found, decoded data exceeds integer range, given range is out of input array, length is not multiple of 5
+     */
+    public Lease decode(byte[] encoded, int offset, int length) {
+        Z85.checkRange(encoded.length, offset, length);
+        Lease lease = lease(Z85.checkDecodedLength(length, length));
+        try {
+            lease.length = Z85.decode(encoded, offset, length, lease.array, 0);
+        } catch (RuntimeException e) {
+            lease.close();
+            throw e;
+        }
+        return lease;
+    }
+
+    /**
+     * Decodes string from Z85 into pooled buffer.
+     *
+     * @param encoded string encoded in Z85
+     * @return lease of buffer containing decoded data
+     * @throws IllegalArgumentException thrown when invalid characters are found, decoded data exceeds integer range, length of string is not multiple of 5
+     */
+    public Lease decode(String encoded) {
+        Lease lease = lease(Z85.checkDecodedLength(encoded.length(), encoded.length()));
+        try {
+            lease.length = Z85.decode(encoded, 0, encoded.length(), lease.array, 0);
+        } catch (RuntimeException e) {
+            lease.close();
+            throw e;
+        }
+        return lease;
+    }
+
+    /**
+     * Borrows buffer of at least given size from pool, allocates new one when pool contains no suitable buffer.
+     *
+     * @param size minimum size of buffer
+     * @return lease of buffer with length set to given size
+     * @throws IllegalArgumentException thrown when size is negative
+     */
+    public Lease lease(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size must be positive: " + size);
+        }
+        leases.increment();
+        int sizeClass = sizeClass(size);
+        boolean pooled = isPooled(sizeClass);
+        byte[] buffer = null;
+        if (pooled) {
+            byte[][] stack = pool[sizeClass];
+            synchronized (stack) {
+                int count = pooledCounts[sizeClass];
+                if (count > 0) {
+                    buffer = stack[--count];
+                    stack[count] = null;
+                    pooledCounts[sizeClass] = count;
+                }
+            }
+        }
+        if (buffer == null) {
+            misses.increment();
+            buffer = new byte[pooled ? 1 << sizeClass : size];
+        } else {
+            hits.increment();
+        }
+        return new Lease(buffer, size);
+    }
+
+    private void release(byte[] buffer) {
+        releases.increment();
+        int sizeClass = Integer.numberOfTrailingZeros(buffer.length);
+        if (buffer.length == 1 << sizeClass && sizeClass >= MIN_SIZE_CLASS && isPooled(sizeClass)) {
+            byte[][] stack = pool[sizeClass];
+            synchronized (stack) {
+                int count = pooledCounts[sizeClass];
+                if (count < stack.length) {
+                    stack[count] = buffer;
+                    pooledCounts[sizeClass] = count + 1;
+                    return;
+                }
+            }
+        }
+        discards.increment();
+    }
+
+    private boolean isPooled(int sizeClass) {
+        return sizeClass <= MAX_SIZE_CLASS && (1 << sizeClass) <= maxBufferSize;
+    }
+
+    // smallest power of two not less than size, MAX_SIZE_CLASS + 1 for sizes which could not be rounded up
+    static int sizeClass(int size) {
+        if (size <= 1 << MIN_SIZE_CLASS) {
+            return MIN_SIZE_CLASS;
+        } else if (size > 1 << MAX_SIZE_CLASS) {
+            return MAX_SIZE_CLASS + 1;
+        }
+        return 32 - Integer.numberOfLeadingZeros(size - 1);
+    }
+
+    /**
+     * Returns snapshot of pool statistics.
+     *
+     * @return statistics
+     */
+    public Statistics statistics() {
+        int pooledBuffers = 0;
+        long pooledBytes = 0;
+        for (int sizeClass = 0; sizeClass < pool.length; sizeClass++) {
+            int count;
+            synchronized (pool[sizeClass]) {
+                count = pooledCounts[sizeClass];
+            }
+            pooledBuffers += count;
+            pooledBytes += (long) count << sizeClass;
+        }
+        return new Statistics(leases.sum(), hits.sum(), misses.sum(), releases.sum(), discards.sum(), pooledBuffers, pooledBytes);
+    }
+
+    /**
+     * Buffer borrowed from pool, valid data are stored at positions from 0 to {@link #length()}, the rest of buffer contains garbage.
+     * Buffer must not be used after lease is closed. Lease is not thread-safe.
+     */
+    public final class Lease implements AutoCloseable {
+
+        private byte[] array;
+        private int length;
+
+        private Lease(byte[] array, int length) {
+            this.array = array;
+            this.length = length;
+        }
+
+        /**
+         * Returns underlying buffer, it could be longer than {@link #length()}.
+         *
+         * @return buffer
+         * @throws IllegalStateException thrown when lease is already closed
+         */
+        public byte[] array() {
+            if (array == null) {
+                throw new IllegalStateException("Lease is already closed");
+            }
+            return array;
+        }
+
+        /**
+         * Returns number of valid bytes in buffer.
+         *
+         * @return number of valid bytes
+         */
+        public int length() {
+            return length;
+        }
+
+        /**
+         * Copies valid bytes into new array, usable when result has to outlive lease.
+         *
+         * @return copy of valid bytes
+         * @throws IllegalStateException thrown when lease is already closed
+         */
+        public byte[] toByteArray() {
+            byte[] copy = new byte[length];
+            System.arraycopy(array(), 0, copy, 0, length);
+            return copy;
+        }
+
+        /**
+         * Gives buffer back to pool, repeated calls have no effect.
+         */
+        @Override
+        public void close() {
+            if (array != null) {
+                byte[] buffer = array;
+                array = null;
+                release(buffer);
+            }
+        }
+    }
+
+    /**
+     * Snapshot of pool statistics.
+     */
+    public static final class Statistics {
+
+        private final long leases;
+        private final long hits;
+        private final long misses;
+        private final long releases;
+        private final long discards;
+        private final int pooledBuffers;
+        private final long pooledBytes;
+
+        Statistics(long leases, long hits, long misses, long releases, long discards, int pooledBuffers, long pooledBytes) {
+            this.leases = leases;
+            this.hits = hits;
+            this.misses = misses;
+            this.releases = releases;
+            this.discards = discards;
+            this.pooledBuffers = pooledBuffers;
+            this.pooledBytes = pooledBytes;
+        }
+
+        /**
+         * @return number of borrowed buffers
+         */
+        public long getLeases() {
+            return leases;
+        }
+
+        /**
+         * @return number of buffers reused from pool
+         */
+        public long getHits() {
+            return hits;
+        }
+
+        /**
+         * @return number of newly allocated buffers
+         */
+        public long getMisses() {
+            return misses;
+        }
+
+        /**
+         * @return number of buffers given back
+         */
+        public long getReleases() {
+            return releases;
+        }
+
+        /**
+         * @return number of given back buffers which were left to garbage collector as pool was full or they were too large
+         */
+        public long getDiscards() {
+            return discards;
+        }
+
+        /**
+         * @return number of free buffers currently held by pool
+         */
+        public int getPooledBuffers() {
+            return pooledBuffers;
+        }
+
+        /**
+         * @return total size of free buffers currently held by pool
+         */
+        public long getPooledBytes() {
+            return pooledBytes;
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics{leases=" + leases + ", hits=" + hits + ", misses=" + misses + ", releases=" + releases
+                    + ", discards=" + discards + ", pooledBuffers=" + pooledBuffers + ", pooledBytes=" + pooledBytes + '}';
+        }
+    }
+}
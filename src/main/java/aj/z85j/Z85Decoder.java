@@ -0,0 +1,112 @@
+package aj.z85j;
+
+/**
+ * Incremental Z85 decoder for data received in fragments of any size, similar to {@link javax.crypto.Cipher}.
+ * Up to 4 trailing characters of fragment are kept internally until the next call completes the block, no array is allocated per call.
+ * Positions of invalid encoding are reported relative to the start of the whole stream.
+ * Instance is reusable after {@link #doFinal(byte[], int, int, byte[], int)} or {@link #reset()}, it is not thread-safe.
+ * State after failed {@link #update(byte[], int, int, byte[], int)} is undefined until {@link #reset()}.
+ */
+public final class Z85Decoder {
+
+    private static final byte[] decoderMap = Base85Alphabet.Z85.decoderMap;
+
+    private final byte[] pending = new byte[5];
+    private int pendingLength;
+    private long position;
+
+    /**
+     * Returns size of target array space needed by the next {@link #update(byte[], int, int, byte[], int)} or {@link #doFinal(byte[], int, int, byte[], int)} call.
+     *
+     * @param length number of characters to be passed to the next call
+     * @return number of decoded bytes the next call writes at most
+     */
+    public int getOutputSize(int length) {
+        return (int) ((pendingLength + (long) length) / 5) * 4;
+    }
+
+    /**
+     * Decodes fragment of Z85 encoded data, incomplete trailing block is kept for the next call.
+     *
+     * @param encoded       data encoded in Z85
+     * @param offset        position of the first character of fragment
+     * @param length        number of characters of fragment
+     * @param decoded       target array
+     * @param decodedOffset position in target array where decoded data starts
+     * @return number of decoded bytes written into target array
+     * @throws IllegalArgumentException thrown when invalid characters are found, decoded data exceeds integer range, given range is out of input array, decoded data does not fit into target array
+     */
+    public int update(byte[] encoded, int offset, int length, byte[] decoded, int decodedOffset) {
+        Z85.checkRange(encoded.length, offset, length);
+        int decodedLength = getOutputSize(length);
+        Z85.checkRange(decoded.length, decodedOffset, decodedLength);
+        int i = offset;
+        int to = offset + length;
+        int j = decodedOffset;
+        long streamOffset = position - offset; // stream position of encoded[0]
+        if (pendingLength > 0) {
+            long blockStart = position - pendingLength;
+            while (pendingLength < 5 && i < to) {
+                pending[pendingLength++] = encoded[i++];
+            }
+            if (pendingLength < 5) {
+                position += length;
+                return 0;
+            }
+            decodeBlock(pending, 0, blockStart, decoded, j);
+            j += 4;
+            pendingLength = 0;
+        }
+        int blocksEnd = to - (to - i) % 5;
+        for (; i < blocksEnd; i += 5, j += 4) {
+            decodeBlock(encoded, i, streamOffset + i, decoded, j);
+        }
+        for (; i < to; i++) {
+            pending[pendingLength++] = encoded[i];
+        }
+        position += length;
+        return decodedLength;
+    }
+
+    /**
+     * Decodes the last fragment of Z85 encoded data and resets decoder.
+     *
+     * @param encoded       data encoded in Z85
+     * @param offset        position of the first character of fragment
+     * @param length        number of characters of fragment
+     * @param decoded       target array
+     * @param decodedOffset position in target array where decoded data starts
+     * @return number of decoded bytes written into target array
+     * @throws IllegalArgumentException thrown when invalid characters are found, decoded data exceeds integer range, given range is out of input array, decoded data does not fit into target array, total size of data is not multiple of 5
+     */
+    public int doFinal(byte[] encoded, int offset, int length, byte[] decoded, int decodedOffset) {
+        try {
+            int decodedLength = update(encoded, offset, length, decoded, decodedOffset);
+            if (pendingLength != 0) {
+                throw new IllegalArgumentException("Length of data must be multiple of 5: " + position);
+            }
+            return decodedLength;
+        } finally {
+            reset();
+        }
+    }
+
+    /**
+     * Discards kept characters, decoder starts a new stream.
+     */
+    public void reset() {
+        pendingLength = 0;
+        position = 0;
+    }
+
+    private static void decodeBlock(byte[] encoded, int pos, long streamPosition, byte[] decoded, int j) {
+        if (Base85.containsInvalidCharactersInFive(decoderMap, encoded, pos)) {
+            throw new IllegalArgumentException("Invalid encoding at position " + streamPosition);
+        }
+        long chunk = Base85.decodeFive(decoderMap, encoded, pos);
+        if ((chunk >>> 32) != 0) { // decoded value outside integer range
+            throw new IllegalArgumentException("Invalid encoding at position " + streamPosition);
+        }
+        UnsafeByteArrayAccess.intToBytes(decoded, j, (int) chunk);
+    }
+}
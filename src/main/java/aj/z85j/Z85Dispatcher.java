@@ -0,0 +1,333 @@
+package aj.z85j;
+
+import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Z85 encoder / decoder routing every call to the kernel which is the fastest for given size of binary data:
+ * {@link Kernel#SCALAR} for small inputs, {@link Kernel#UNROLLED} for medium ones and {@link Kernel#PARALLEL} for huge ones.
+ * Size thresholds are taken from system properties {@value #UNROLLED_THRESHOLD_PROPERTY} and {@value #PARALLEL_THRESHOLD_PROPERTY},
+ * they could be measured on target machine by {@link #calibrate()} and persisted by {@link #toProperties()}.
+ * Dispatching costs two integer comparisons per call. Instances are immutable and thread-safe.
+ */
+public final class Z85Dispatcher {
+
+    /**
+     * Implementation of encoding / decoding loop.
+     */
+    public enum Kernel {
+        /**
+         * One block per iteration, the same loop as {@link Z85}.
+         */
+        SCALAR,
+        /**
+         * Two blocks per iteration with 8 bytes loads and stores.
+         */
+        UNROLLED,
+        /**
+         * Input split into parts processed by unrolled loop in common fork-join pool.
+         */
+        PARALLEL
+    }
+
+    public static final String UNROLLED_THRESHOLD_PROPERTY = "aj.z85j.dispatcher.unrolledThreshold";
+    public static final String PARALLEL_THRESHOLD_PROPERTY = "aj.z85j.dispatcher.parallelThreshold";
+
+    static final int DEFAULT_UNROLLED_THRESHOLD = 4 * 1024;
+    // splitting does not pay off without spare processors
+    static final int DEFAULT_PARALLEL_THRESHOLD = ForkJoinPool.getCommonPoolParallelism() > 1 ? 4 * 1024 * 1024 : Integer.MAX_VALUE;
+
+    // parts smaller than this do not pay off the cost of task scheduling
+    static final int MIN_PARALLEL_PART_SIZE = 256 * 1024;
+
+    private static final byte[] encoderMap = Base85Alphabet.Z85.encoderMap;
+    private static final short[] encoderPairMap = Base85Alphabet.Z85.encoderPairMap;
+    private static final byte[] decoderMap = Base85Alphabet.Z85.decoderMap;
+
+    private final int unrolledThreshold;
+    private final int parallelThreshold;
+
+    /**
+     * Creates dispatcher with given thresholds.
+     *
+     * @param unrolledThreshold the smallest size of binary data processed by {@link Kernel#UNROLLED}
+     * @param parallelThreshold the smallest size of binary data processed by {@link Kernel#PARALLEL}
+     * @throws IllegalArgumentException thrown when any of thresholds is negative
+     */
+    public Z85Dispatcher(int unrolledThreshold, int parallelThreshold) {
+        if (unrolledThreshold < 0) {
+            throw new IllegalArgumentException("Unrolled threshold must be positive: " + unrolledThreshold);
+        } else if (parallelThreshold < 0) {
+            throw new IllegalArgumentException("Parallel threshold must be positive: " + parallelThreshold);
+        }
+        this.unrolledThreshold = unrolledThreshold;
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * Returns dispatcher configured by system properties read at the first call, missing properties are replaced by defaults.
+     *
+     * @return default dispatcher
+     * @throws IllegalArgumentException thrown when system property value is not a non-negative integer
+     */
+    public static Z85Dispatcher getDefault() {
+        if (DefaultHolder.ERROR != null) {
+            throw new IllegalArgumentException(DefaultHolder.ERROR.getMessage(), DefaultHolder.ERROR);
+        }
+        return DefaultHolder.DEFAULT;
+    }
+
+    // initialized by the first getDefault() call, so invalid system property fails getDefault() only, not the whole class
+    private static final class DefaultHolder {
+        static final Z85Dispatcher DEFAULT;
+        static final IllegalArgumentException ERROR;
+
+        static {
+            Z85Dispatcher dispatcher = null;
+            IllegalArgumentException error = null;
+            try {
+                dispatcher = fromProperties(System.getProperties());
+            } catch (IllegalArgumentException e) {
+                error = e;
+            }
+            DEFAULT = dispatcher;
+            ERROR = error;
+        }
+    }
+
+    /**
+     * Creates dispatcher configured by properties {@value #UNROLLED_THRESHOLD_PROPERTY} and {@value #PARALLEL_THRESHOLD_PROPERTY}, missing properties are replaced by defaults.
+     *
+     * @param properties properties, e.g. loaded from file written by {@link #toProperties()}
+     * @return dispatcher
+     * @throws IllegalArgumentException thrown when property value is not a non-negative integer
+     */
+    public static Z85Dispatcher fromProperties(Properties properties) {
+        return new Z85Dispatcher(
+                intProperty(properties, UNROLLED_THRESHOLD_PROPERTY, DEFAULT_UNROLLED_THRESHOLD),
+                intProperty(properties, PARALLEL_THRESHOLD_PROPERTY, DEFAULT_PARALLEL_THRESHOLD));
+    }
+
+    private static int intProperty(Properties properties, String name, int defaultValue) {
+        String value = properties.getProperty(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Property " + name + " must be integer: " + value, e);
+        }
+    }
+
+    /**
+     * Returns thresholds of this dispatcher as properties accepted by {@link #fromProperties(Properties)}.
+     *
+     * @return properties
+     */
+    public Properties toProperties() {
+        Properties properties = new Properties();
+        properties.setProperty(UNROLLED_THRESHOLD_PROPERTY, Integer.toString(unrolledThreshold));
+        properties.setProperty(PARALLEL_THRESHOLD_PROPERTY, Integer.toString(parallelThreshold));
+        return properties;
+    }
+
+    public int getUnrolledThreshold() {
+        return unrolledThreshold;
+    }
+
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Returns kernel which processes binary data of given size, for decoding it is size of decoded data.
+     * Parallel threshold takes precedence, so parallel kernel is used even when unrolled threshold is greater than parallel one.
+     *
+     * @param size size of binary data
+     * @return chosen kernel
+     */
+    public Kernel kernelFor(int size) {
+        if (size >= parallelThreshold) {
+            return Kernel.PARALLEL;
+        } else if (size >= unrolledThreshold) {
+            return Kernel.UNROLLED;
+        } else {
+            return Kernel.SCALAR;
+        }
+    }
+
+    /**
+     * Encodes binary data to Z85 by kernel chosen according to its size.
+     *
+     * @param binary binary data
+     * @return data encoded in Z85
+     * @throws IllegalArgumentException thrown when encoded data exceeds maximum java array size, size of input array is not multiple of 4
+     */
+    public byte[] encode(byte[] binary) {
+        byte[] encoded = new byte[Z85.checkEncodedLength(binary.length, binary.length)];
+        encode(kernelFor(binary.length), binary, 0, binary.length, encoded, 0);
+        return encoded;
+    }
+
+    /**
+     * Encodes part of binary data to Z85 into given array by kernel chosen according to its size.
+     *
+     * @param binary        binary data
+     * @param offset        position of the first byte to be encoded
+     * @param length        number of bytes to be encoded
+     * @param encoded       target array
+     * @param encodedOffset position in target array where encoded data starts
+     * @return number of encoded bytes written into target array
+     * @throws IllegalArgumentException thrown when given range is out of input array, length is not multiple of 4, encoded data does not fit into target array
+     */
+    public int encode(byte[] binary, int offset, int length, byte[] encoded, int encodedOffset) {
+        Z85.checkRange(binary.length, offset, length);
+        int encodedLength = Z85.checkEncodedLength(length, length);
+        Z85.checkRange(encoded.length, encodedOffset, encodedLength);
+        encode(kernelFor(length), binary, offset, length, encoded, encodedOffset);
+        return encodedLength;
+    }
+
+    /**
+     * Decodes binary data from Z85 by kernel chosen according to size of decoded data.
+     *
+     * @param encoded data encoded in Z85
+     * @return binary data
+     * @throws IllegalArgumentException thrown when invalid characters are found, decoded data exceeds integer range, size of input array is not multiple of 5
+     */
+    public byte[] decode(byte[] encoded) {
+        byte[] decoded = new byte[Z85.checkDecodedLength(encoded.length, encoded.length)];
+        decode(kernelFor(decoded.length), encoded, 0, encoded.length, decoded, 0);
+        return decoded;
+    }
+
+    /**
+     * Decodes part of Z85 encoded data into given array by kernel chosen according to size of decoded data.
+     *
+     * @param encoded       data encoded in Z85
+     * @param offset        position of the first character to be decoded
+     * @param length        number of characters to be decoded
+     * @param decoded       target array
+     * @param decodedOffset position in target array where decoded data starts
+     * @return number of decoded bytes written into target array
+     * @throws IllegalArgumentException thrown when invalid characters are found, decoded data exceeds integer range, given range is out of input array, length is not multiple of 5, decoded data does not fit into target array
+     */
+    public int decode(byte[] encoded, int offset, int length, byte[] decoded, int decodedOffset) {
+        Z85.checkRange(encoded.length, offset, length);
+        int decodedLength = Z85.checkDecodedLength(length, length);
+        Z85.checkRange(decoded.length, decodedOffset, decodedLength);
+        decode(kernelFor(decodedLength), encoded, offset, length, decoded, decodedOffset);
+        return decodedLength;
+    }
+
+    static void encode(Kernel kernel, byte[] binary, int offset, int length, byte[] encoded, int encodedOffset) {
+        switch (kernel) {
+            case SCALAR:
+                Base85.encodeBlocksPaired(encoderMap, encoderPairMap, binary, offset, offset + length, encoded, encodedOffset);
+                break;
+            case UNROLLED:
+                Base85.encodeBlocksUnrolled(encoderMap, encoderPairMap, binary, offset, offset + length, encoded, encodedOffset);
+                break;
+            default:
+                int blocks = length >> 2;
+                int partBlocks = partBlocks(blocks);
+                IntStream.range(0, (blocks + partBlocks - 1) / partBlocks).parallel().forEach(part -> {
+                    int firstBlock = part * partBlocks;
+                    int lastBlock = Math.min(blocks, firstBlock + partBlocks);
+                    Base85.encodeBlocksUnrolled(encoderMap, encoderPairMap, binary, offset + (firstBlock << 2), offset + (lastBlock << 2), encoded, encodedOffset + firstBlock * 5);
+                });
+        }
+    }
+
+    static void decode(Kernel kernel, byte[] encoded, int offset, int length, byte[] decoded, int decodedOffset) {
+        switch (kernel) {
+            case SCALAR:
+                Base85.decodeBlocksDeferred(decoderMap, encoded, offset, offset + length, decoded, decodedOffset);
+                break;
+            case UNROLLED:
+                Base85.decodeBlocksUnrolled(decoderMap, encoded, offset, offset + length, decoded, decodedOffset);
+                break;
+            default:
+                int blocks = length / 5;
+                int partBlocks = partBlocks(blocks);
+                try {
+                    IntStream.range(0, (blocks + partBlocks - 1) / partBlocks).parallel().forEach(part -> {
+                        int firstBlock = part * partBlocks;
+                        int lastBlock = Math.min(blocks, firstBlock + partBlocks);
+                        Base85.decodeBlocksUnrolled(decoderMap, encoded, offset + firstBlock * 5, offset + lastBlock * 5, decoded, decodedOffset + (firstBlock << 2));
+                    });
+                } catch (IllegalArgumentException e) {
+                    // any part could fail first, sequential rescan reports the same position as the other kernels
+                    Base85.decodeBlocks(decoderMap, encoded, offset, offset + length, decoded, decodedOffset);
+                    throw e;
+                }
+        }
+    }
+
+    private static int partBlocks(int blocks) {
+        int parts = Math.max(1, ForkJoinPool.getCommonPoolParallelism()) * 4; // more parts than threads to balance uneven progress
+        return Math.max(MIN_PARALLEL_PART_SIZE >> 2, (blocks + parts - 1) / parts);
+    }
+
+    /**
+     * Measures kernels on this machine and creates dispatcher with thresholds where faster kernel starts to win.
+     * Sizes from 16 bytes to 16 MiB are measured for 50 ms per kernel, it takes about 3 seconds and allocates about 72 MB of scratch arrays.
+     *
+     * @return calibrated dispatcher
+     */
+    public static Z85Dispatcher calibrate() {
+        return calibrate(16 * 1024 * 1024, 50_000_000L);
+    }
+
+    // sizes are powers of two from 16 bytes to maxSize, every measurement takes about timePerSize nanoseconds
+    static Z85Dispatcher calibrate(int maxSize, long timePerSize) {
+        int unrolledThreshold = Integer.MAX_VALUE;
+        int parallelThreshold = Integer.MAX_VALUE;
+        for (int size = 16; size > 0 && size <= maxSize; size <<= 1) {
+            byte[] binary = new byte[size];
+            byte[] encoded = new byte[Z85.encodedLength(size)];
+            for (int i = 0; i < size; i++) {
+                binary[i] = (byte) (i * 31);
+            }
+            long scalar = measure(Kernel.SCALAR, binary, encoded, timePerSize);
+            long unrolled = measure(Kernel.UNROLLED, binary, encoded, timePerSize);
+            if (unrolled < scalar) {
+                unrolledThreshold = Math.min(unrolledThreshold, size);
+            } else {
+                unrolledThreshold = Integer.MAX_VALUE; // the faster kernel has to win for all greater sizes
+            }
+            if (size >= 2 * MIN_PARALLEL_PART_SIZE) {
+                long parallel = measure(Kernel.PARALLEL, binary, encoded, timePerSize);
+                if (parallel < Math.min(scalar, unrolled)) {
+                    parallelThreshold = Math.min(parallelThreshold, size);
+                } else {
+                    parallelThreshold = Integer.MAX_VALUE;
+                }
+            }
+        }
+        return new Z85Dispatcher(unrolledThreshold, parallelThreshold);
+    }
+
+    // nanoseconds per batch of encode and decode round trips, the best of repeated runs, batch is large enough for timer resolution
+    private static long measure(Kernel kernel, byte[] binary, byte[] encoded, long time) {
+        int batch = Math.max(1, (1 << 16) / binary.length);
+        long best = Long.MAX_VALUE;
+        long deadline = System.nanoTime() + time;
+        do {
+            long start = System.nanoTime();
+            for (int i = 0; i < batch; i++) {
+                encode(kernel, binary, 0, binary.length, encoded, 0);
+                decode(kernel, encoded, 0, encoded.length, binary, 0);
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        } while (System.nanoTime() < deadline);
+        return best;
+    }
+
+    @Override
+    public String toString() {
+        return "Z85Dispatcher{unrolledThreshold=" + unrolledThreshold + ", parallelThreshold=" + parallelThreshold + '}';
+    }
+}
@@ -0,0 +1,101 @@
+package aj.z85j;
+
+/**
+ * Incremental Z85 encoder for data received in fragments of any size, similar to {@link javax.crypto.Cipher}.
+ * Up to 3 trailing bytes of fragment are kept internally until the next call completes the block, no array is allocated per call.
+ * Instance is reusable after {@link #doFinal(byte[], int, int, byte[], int)} or {@link #reset()}, it is not thread-safe.
+ */
+public final class Z85Encoder {
+
+    private static final byte[] encoderMap = Base85Alphabet.Z85.encoderMap;
+    private static final short[] encoderPairMap = Base85Alphabet.Z85.encoderPairMap;
+
+    private final byte[] pending = new byte[4];
+    private int pendingLength;
+    private long position;
+
+    /**
+     * Returns size of target array space needed by the next {@link #update(byte[], int, int, byte[], int)} or {@link #doFinal(byte[], int, int, byte[], int)} call.
+     *
+     * @param length number of bytes to be passed to the next call
+     * @return number of encoded bytes the next call writes at most
+     * @throws IllegalArgumentException thrown when encoded data exceeds maximum java array size
+     */
+    public int getOutputSize(int length) {
+        long outputSize = ((pendingLength + (long) length) >> 2) * 5;
+        if (outputSize > Z85.JAVA_MAX_ARRAY_SIZE) {
+            throw new IllegalArgumentException("Not enough space for encoding, " + outputSize + " bytes would be needed, " + Z85.JAVA_MAX_ARRAY_SIZE + " bytes are allowed at most");
+        }
+        return (int) outputSize;
+    }
+
+    /**
+     * Encodes fragment of binary data, incomplete trailing block is kept for the next call.
+     *
+     * @param binary        binary data
+     * @param offset        position of the first byte of fragment
+     * @param length        number of bytes of fragment
+     * @param encoded       target array
+     * @param encodedOffset position in target array where encoded data starts
+     * @return number of encoded bytes written into target array
+     * @throws IllegalArgumentException thrown when given range is out of input array, encoded data does not fit into target array
+     */
+    public int update(byte[] binary, int offset, int length, byte[] encoded, int encodedOffset) {
+        Z85.checkRange(binary.length, offset, length);
+        int encodedLength = getOutputSize(length);
+        Z85.checkRange(encoded.length, encodedOffset, encodedLength);
+        int i = offset;
+        int to = offset + length;
+        int j = encodedOffset;
+        if (pendingLength > 0) {
+            while (pendingLength < 4 && i < to) {
+                pending[pendingLength++] = binary[i++];
+            }
+            if (pendingLength < 4) {
+                position += length;
+                return 0;
+            }
+            Base85.encodeFourPaired(encoderMap, encoderPairMap, UnsafeByteArrayAccess.bytesToInt(pending, 0), encoded, j);
+            j += 5;
+            pendingLength = 0;
+        }
+        int blocksEnd = to - ((to - i) & 3);
+        Base85.encodeBlocksPaired(encoderMap, encoderPairMap, binary, i, blocksEnd, encoded, j);
+        for (i = blocksEnd; i < to; i++) {
+            pending[pendingLength++] = binary[i];
+        }
+        position += length;
+        return encodedLength;
+    }
+
+    /**
+     * Encodes the last fragment of binary data and resets encoder.
+     *
+     * @param binary        binary data
+     * @param offset        position of the first byte of fragment
+     * @param length        number of bytes of fragment
+     * @param encoded       target array
+     * @param encodedOffset position in target array where encoded data starts
+     * @return number of encoded bytes written into target array
+     * @throws IllegalArgumentException thrown when given range is out of input array, encoded data does not fit into target array, total size of data is not multiple of 4
+     */
+    public int doFinal(byte[] binary, int offset, int length, byte[] encoded, int encodedOffset) {
+        try {
+            int encodedLength = update(binary, offset, length, encoded, encodedOffset);
+            if (pendingLength != 0) {
+                throw new IllegalArgumentException("Size of data must be multiple of 4: " + position);
+            }
+            return encodedLength;
+        } finally {
+            reset();
+        }
+    }
+
+    /**
+     * Discards kept bytes, encoder starts a new stream.
+     */
+    public void reset() {
+        pendingLength = 0;
+        position = 0;
+    }
+}
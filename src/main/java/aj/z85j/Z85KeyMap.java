@@ -0,0 +1,230 @@
+package aj.z85j;
+
+import java.util.Map;
+
+/**
+ * Map of 32 bytes long keys (e.g. CURVE public keys) stored flat in a {@code long[]} open addressing table to values.
+ * Keys could be passed either binary or encoded in Z85 as 40 characters, encoded keys are decoded straight into registers without any allocation.
+ * Lookups are lock-free and could run concurrently with updates, every update copies the table (copy-on-write),
+ * so bulk {@link #putAll(Map)} and {@link #putAllEncoded(Map)} are preferred for loading many keys. Null values are not allowed.
+ *
+ * @param <V> type of values
+ */
+public final class Z85KeyMap<V> {
+
+    private volatile Z85KeyTable table = Z85KeyTable.empty(true);
+
+    /**
+     * @param key 32 bytes long binary key
+     * @return value mapped to key or null
+     * @throws IllegalArgumentException thrown when key is not 32 bytes long
+     */
+    public V get(byte[] key) {
+        Z85KeySet.checkKeyLength(key);
+        return get(key, 0);
+    }
+
+    /**
+     * @param key    array containing 32 bytes long binary key at given offset
+     * @param offset position of the first byte of key
+     * @return value mapped to key or null
+     * @throws IllegalArgumentException thrown when array is too short
+     */
+    public V get(byte[] key, int offset) {
+        Z85KeyTable.checkKey(key, offset);
+        return get(
+                UnsafeByteArrayAccess.bytesToLong(key, offset),
+                UnsafeByteArrayAccess.bytesToLong(key, offset + 8),
+                UnsafeByteArrayAccess.bytesToLong(key, offset + 16),
+                UnsafeByteArrayAccess.bytesToLong(key, offset + 24));
+    }
+
+    /**
+     * @param encodedKey key encoded in Z85 as 40 characters
+     * @return value mapped to key or null
+     * @throws IllegalArgumentException thrown when key is not 40 characters long, contains invalid characters or exceeds integer range
+     */
+    public V getEncoded(String encodedKey) {
+        Z85KeyTable.checkEncodedKey(encodedKey);
+        return get(
+                Z85.decodeLong(encodedKey, 0),
+                Z85.decodeLong(encodedKey, 10),
+                Z85.decodeLong(encodedKey, 20),
+                Z85.decodeLong(encodedKey, 30));
+    }
+
+    /**
+     * @param encodedKey array containing key encoded in Z85 as 40 characters at given offset
+     * @param offset     position of the first character of key
+     * @return value mapped to key or null
+     * @throws IllegalArgumentException thrown when array is too short, key contains invalid characters or exceeds integer range
+     */
+    public V getEncoded(byte[] encodedKey, int offset) {
+        Z85.checkRange(encodedKey.length, offset, Z85KeyTable.ENCODED_KEY_SIZE);
+        return get(
+                Z85.decodeLong(encodedKey, offset),
+                Z85.decodeLong(encodedKey, offset + 10),
+                Z85.decodeLong(encodedKey, offset + 20),
+                Z85.decodeLong(encodedKey, offset + 30));
+    }
+
+    @SuppressWarnings("unchecked")
+    private V get(long k0, long k1, long k2, long k3) {
+        Z85KeyTable current = table;
+        int index = current.indexOf(k0, k1, k2, k3);
+        return index == Z85KeyTable.NOT_FOUND ? null : (V) current.valueAt(index);
+    }
+
+    /**
+     * @param key   32 bytes long binary key
+     * @param value value
+     * @return previous value or null
+     * @throws IllegalArgumentException thrown when key is not 32 bytes long
+     * @throws NullPointerException     thrown when value is null
+     */
+    public synchronized V put(byte[] key, V value) {
+        Z85KeySet.checkKeyLength(key);
+        return put(
+                UnsafeByteArrayAccess.bytesToLong(key, 0),
+                UnsafeByteArrayAccess.bytesToLong(key, 8),
+                UnsafeByteArrayAccess.bytesToLong(key, 16),
+                UnsafeByteArrayAccess.bytesToLong(key, 24),
+                value);
+    }
+
+    /**
+     * @param encodedKey key encoded in Z85 as 40 characters
+     * @param value      value
+     * @return previous value or null
+     * @throws IllegalArgumentException thrown when key is not 40 characters long, contains invalid characters or exceeds integer range
+     * @throws NullPointerException     thrown when value is null
+     */
+    public synchronized V putEncoded(String encodedKey, V value) {
+        Z85KeyTable.checkEncodedKey(encodedKey);
+        return put(
+                Z85.decodeLong(encodedKey, 0),
+                Z85.decodeLong(encodedKey, 10),
+                Z85.decodeLong(encodedKey, 20),
+                Z85.decodeLong(encodedKey, 30),
+                value);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V put(long k0, long k1, long k2, long k3, V value) {
+        checkValue(value);
+        Z85KeyTable current = table;
+        Z85KeyTable copy = current.copyFor(current.size() + 1);
+        V previous = (V) copy.put(k0, k1, k2, k3, value);
+        table = copy;
+        return previous;
+    }
+
+    /**
+     * Puts all entries by single copy of table, entries become visible to readers at once, no entry is put when any of them is invalid.
+     *
+     * @param entries entries with 32 bytes long binary keys
+     * @throws IllegalArgumentException thrown when any key is not 32 bytes long
+     * @throws NullPointerException     thrown when any value is null
+     */
+    public synchronized void putAll(Map<byte[], ? extends V> entries) {
+        Z85KeyTable copy = table.copyFor(table.size() + entries.size());
+        for (Map.Entry<byte[], ? extends V> entry : entries.entrySet()) {
+            byte[] key = entry.getKey();
+            Z85KeySet.checkKeyLength(key);
+            copy = copy.ensureCapacity(copy.size() + 1);
+            copy.put(
+                    UnsafeByteArrayAccess.bytesToLong(key, 0),
+                    UnsafeByteArrayAccess.bytesToLong(key, 8),
+                    UnsafeByteArrayAccess.bytesToLong(key, 16),
+                    UnsafeByteArrayAccess.bytesToLong(key, 24),
+                    checkValue(entry.getValue()));
+        }
+        table = copy;
+    }
+
+    /**
+     * Puts all entries by single copy of table, entries become visible to readers at once, no entry is put when any of them is invalid.
+     *
+     * @param entries entries with keys encoded in Z85 as 40 characters
+     * @throws IllegalArgumentException thrown when any key is not 40 characters long, contains invalid characters or exceeds integer range
+     * @throws NullPointerException     thrown when any value is null
+     */
+    public synchronized void putAllEncoded(Map<String, ? extends V> entries) {
+        Z85KeyTable copy = table.copyFor(table.size() + entries.size());
+        for (Map.Entry<String, ? extends V> entry : entries.entrySet()) {
+            String encodedKey = entry.getKey();
+            Z85KeyTable.checkEncodedKey(encodedKey);
+            copy = copy.ensureCapacity(copy.size() + 1);
+            copy.put(
+                    Z85.decodeLong(encodedKey, 0),
+                    Z85.decodeLong(encodedKey, 10),
+                    Z85.decodeLong(encodedKey, 20),
+                    Z85.decodeLong(encodedKey, 30),
+                    checkValue(entry.getValue()));
+        }
+        table = copy;
+    }
+
+    /**
+     * @param key 32 bytes long binary key
+     * @return removed value or null
+     * @throws IllegalArgumentException thrown when key is not 32 bytes long
+     */
+    public synchronized V remove(byte[] key) {
+        Z85KeySet.checkKeyLength(key);
+        return remove(
+                UnsafeByteArrayAccess.bytesToLong(key, 0),
+                UnsafeByteArrayAccess.bytesToLong(key, 8),
+                UnsafeByteArrayAccess.bytesToLong(key, 16),
+                UnsafeByteArrayAccess.bytesToLong(key, 24));
+    }
+
+    /**
+     * @param encodedKey key encoded in Z85 as 40 characters
+     * @return removed value or null
+     * @throws IllegalArgumentException thrown when key is not 40 characters long, contains invalid characters or exceeds integer range
+     */
+    public synchronized V removeEncoded(String encodedKey) {
+        Z85KeyTable.checkEncodedKey(encodedKey);
+        return remove(
+                Z85.decodeLong(encodedKey, 0),
+                Z85.decodeLong(encodedKey, 10),
+                Z85.decodeLong(encodedKey, 20),
+                Z85.decodeLong(encodedKey, 30));
+    }
+
+    @SuppressWarnings("unchecked")
+    private V remove(long k0, long k1, long k2, long k3) {
+        Z85KeyTable current = table;
+        int index = current.indexOf(k0, k1, k2, k3);
+        if (index == Z85KeyTable.NOT_FOUND) {
+            return null;
+        }
+        V previous = (V) current.valueAt(index);
+        Z85KeyTable copy = current.copyFor(current.size());
+        copy.remove(copy.indexOf(k0, k1, k2, k3));
+        table = copy;
+        return previous;
+    }
+
+    private static <V> V checkValue(V value) {
+        if (value == null) {
+            throw new NullPointerException("Value must not be null");
+        }
+        return value;
+    }
+
+    /**
+     * @return number of keys
+     */
+    public int size() {
+        return table.size();
+    }
+
+    /**
+     * Removes all keys.
+     */
+    public synchronized void clear() {
+        table = Z85KeyTable.empty(true);
+    }
+}
@@ -0,0 +1,212 @@
+package aj.z85j;
+
+/**
+ * Set of 32 bytes long keys (e.g. CURVE public keys) stored flat in a {@code long[]} open addressing table, about 43 bytes per key at full load.
+ * Keys could be passed either binary or encoded in Z85 as 40 characters, encoded keys are decoded straight into registers without any allocation.
+ * Lookups are lock-free and could run concurrently with updates, every update copies the table (copy-on-write),
+ * so bulk {@link #addAll(Iterable)} and {@link #addAllEncoded(Iterable)} are preferred for loading many keys.
+ */
+public final class Z85KeySet {
+
+    private volatile Z85KeyTable table = Z85KeyTable.empty(false);
+
+    /**
+     * @param key 32 bytes long binary key
+     * @return true, when set contains key
+     * @throws IllegalArgumentException thrown when key is not 32 bytes long
+     */
+    public boolean contains(byte[] key) {
+        checkKeyLength(key);
+        return contains(key, 0);
+    }
+
+    /**
+     * @param key    array containing 32 bytes long binary key at given offset
+     * @param offset position of the first byte of key
+     * @return true, when set contains key
+     * @throws IllegalArgumentException thrown when array is too short
+     */
+    public boolean contains(byte[] key, int offset) {
+        Z85KeyTable.checkKey(key, offset);
+        return table.indexOf(
+                UnsafeByteArrayAccess.bytesToLong(key, offset),
+                UnsafeByteArrayAccess.bytesToLong(key, offset + 8),
+                UnsafeByteArrayAccess.bytesToLong(key, offset + 16),
+                UnsafeByteArrayAccess.bytesToLong(key, offset + 24)) != Z85KeyTable.NOT_FOUND;
+    }
+
+    /**
+     * @param encodedKey key encoded in Z85 as 40 characters
+     * @return true, when set contains key
+     * @throws IllegalArgumentException thrown when key is not 40 characters long, contains invalid characters or exceeds integer range
+     */
+    public boolean containsEncoded(String encodedKey) {
+        Z85KeyTable.checkEncodedKey(encodedKey);
+        return table.indexOf(
+                Z85.decodeLong(encodedKey, 0),
+                Z85.decodeLong(encodedKey, 10),
+                Z85.decodeLong(encodedKey, 20),
+                Z85.decodeLong(encodedKey, 30)) != Z85KeyTable.NOT_FOUND;
+    }
+
+    /**
+     * @param encodedKey array containing key encoded in Z85 as 40 characters at given offset
+     * @param offset     position of the first character of key
+     * @return true, when set contains key
+     * @throws IllegalArgumentException thrown when array is too short, key contains invalid characters or exceeds integer range
+     */
+    public boolean containsEncoded(byte[] encodedKey, int offset) {
+        Z85.checkRange(encodedKey.length, offset, Z85KeyTable.ENCODED_KEY_SIZE);
+        return table.indexOf(
+                Z85.decodeLong(encodedKey, offset),
+                Z85.decodeLong(encodedKey, offset + 10),
+                Z85.decodeLong(encodedKey, offset + 20),
+                Z85.decodeLong(encodedKey, offset + 30)) != Z85KeyTable.NOT_FOUND;
+    }
+
+    /**
+     * @param key 32 bytes long binary key
+     * @return true, when key was not present
+     * @throws IllegalArgumentException thrown when key is not 32 bytes long
+     */
+    public synchronized boolean add(byte[] key) {
+        checkKeyLength(key);
+        return add(
+                UnsafeByteArrayAccess.bytesToLong(key, 0),
+                UnsafeByteArrayAccess.bytesToLong(key, 8),
+                UnsafeByteArrayAccess.bytesToLong(key, 16),
+                UnsafeByteArrayAccess.bytesToLong(key, 24));
+    }
+
+    /**
+     * @param encodedKey key encoded in Z85 as 40 characters
+     * @return true, when key was not present
+     * @throws IllegalArgumentException thrown when key is not 40 characters long, contains invalid characters or exceeds integer range
+     */
+    public synchronized boolean addEncoded(String encodedKey) {
+        Z85KeyTable.checkEncodedKey(encodedKey);
+        return add(
+                Z85.decodeLong(encodedKey, 0),
+                Z85.decodeLong(encodedKey, 10),
+                Z85.decodeLong(encodedKey, 20),
+                Z85.decodeLong(encodedKey, 30));
+    }
+
+    private boolean add(long k0, long k1, long k2, long k3) {
+        Z85KeyTable current = table;
+        if (current.indexOf(k0, k1, k2, k3) != Z85KeyTable.NOT_FOUND) {
+            return false;
+        }
+        Z85KeyTable copy = current.copyFor(current.size() + 1);
+        copy.put(k0, k1, k2, k3, null);
+        table = copy;
+        return true;
+    }
+
+    /**
+     * Adds all keys by single copy of table, keys become visible to readers at once, no key is added when any of them is invalid.
+     *
+     * @param keys 32 bytes long binary keys
+     * @return number of added keys, which were not present
+     * @throws IllegalArgumentException thrown when any key is not 32 bytes long
+     */
+    public synchronized int addAll(Iterable<byte[]> keys) {
+        Z85KeyTable current = table;
+        Z85KeyTable copy = current.copyFor(current.size() + Z85KeyTable.sizeHint(keys));
+        for (byte[] key : keys) {
+            checkKeyLength(key);
+            copy = copy.ensureCapacity(copy.size() + 1);
+            copy.put(
+                    UnsafeByteArrayAccess.bytesToLong(key, 0),
+                    UnsafeByteArrayAccess.bytesToLong(key, 8),
+                    UnsafeByteArrayAccess.bytesToLong(key, 16),
+                    UnsafeByteArrayAccess.bytesToLong(key, 24),
+                    null);
+        }
+        table = copy;
+        return copy.size() - current.size();
+    }
+
+    /**
+     * Adds all keys by single copy of table, keys become visible to readers at once, no key is added when any of them is invalid.
+     *
+     * @param encodedKeys keys encoded in Z85 as 40 characters
+     * @return number of added keys, which were not present
+     * @throws IllegalArgumentException thrown when any key is not 40 characters long, contains invalid characters or exceeds integer range
+     */
+    public synchronized int addAllEncoded(Iterable<String> encodedKeys) {
+        Z85KeyTable current = table;
+        Z85KeyTable copy = current.copyFor(current.size() + Z85KeyTable.sizeHint(encodedKeys));
+        for (String encodedKey : encodedKeys) {
+            Z85KeyTable.checkEncodedKey(encodedKey);
+            copy = copy.ensureCapacity(copy.size() + 1);
+            copy.put(
+                    Z85.decodeLong(encodedKey, 0),
+                    Z85.decodeLong(encodedKey, 10),
+                    Z85.decodeLong(encodedKey, 20),
+                    Z85.decodeLong(encodedKey, 30),
+                    null);
+        }
+        table = copy;
+        return copy.size() - current.size();
+    }
+
+    /**
+     * @param key 32 bytes long binary key
+     * @return true, when key was present
+     * @throws IllegalArgumentException thrown when key is not 32 bytes long
+     */
+    public synchronized boolean remove(byte[] key) {
+        checkKeyLength(key);
+        return remove(
+                UnsafeByteArrayAccess.bytesToLong(key, 0),
+                UnsafeByteArrayAccess.bytesToLong(key, 8),
+                UnsafeByteArrayAccess.bytesToLong(key, 16),
+                UnsafeByteArrayAccess.bytesToLong(key, 24));
+    }
+
+    /**
+     * @param encodedKey key encoded in Z85 as 40 characters
+     * @return true, when key was present
+     * @throws IllegalArgumentException thrown when key is not 40 characters long, contains invalid characters or exceeds integer range
+     */
+    public synchronized boolean removeEncoded(String encodedKey) {
+        Z85KeyTable.checkEncodedKey(encodedKey);
+        return remove(
+                Z85.decodeLong(encodedKey, 0),
+                Z85.decodeLong(encodedKey, 10),
+                Z85.decodeLong(encodedKey, 20),
+                Z85.decodeLong(encodedKey, 30));
+    }
+
+    private boolean remove(long k0, long k1, long k2, long k3) {
+        Z85KeyTable current = table;
+        if (current.indexOf(k0, k1, k2, k3) == Z85KeyTable.NOT_FOUND) {
+            return false;
+        }
+        Z85KeyTable copy = current.copyFor(current.size());
+        copy.remove(copy.indexOf(k0, k1, k2, k3));
+        table = copy;
+        return true;
+    }
+
+    /**
+     * @return number of keys
+     */
+    public int size() {
+        return table.size();
+    }
+
+    /**
+     * Removes all keys.
+     */
+    public synchronized void clear() {
+        table = Z85KeyTable.empty(false);
+    }
+
+    static void checkKeyLength(byte[] key) {
+        if (key.length != Z85KeyTable.KEY_SIZE) {
+            throw new IllegalArgumentException("Key must have " + Z85KeyTable.KEY_SIZE + " bytes: " + key.length);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+package aj.z85j;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Open addressing hash table of 32 bytes long keys stored flat as 4 longs per slot, linear probing with backward shift deletion.
+ * Slot of four zero longs is empty, so the all-zero key is kept out of the table.
+ * Published tables are never modified, writers mutate fresh copy only - {@link Z85KeySet} and {@link Z85KeyMap} publish it by volatile write.
+ */
+final class Z85KeyTable {
+
+    static final int KEY_SIZE = 32;
+    static final int ENCODED_KEY_SIZE = 40;
+
+    static final int NOT_FOUND = -1;
+    static final int ZERO_KEY = -2;
+
+    private static final int MIN_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 28; // 4 longs per slot must fit into java array
+
+    private final long[] keys;
+    private final Object[] values; // null for set
+    private final int mask;
+    private int size;
+    private boolean hasZeroKey;
+    private Object zeroKeyValue;
+
+    private Z85KeyTable(int capacity, boolean withValues) {
+        this.keys = new long[capacity << 2];
+        this.values = withValues ? new Object[capacity] : null;
+        this.mask = capacity - 1;
+    }
+
+    static Z85KeyTable empty(boolean withValues) {
+        return new Z85KeyTable(MIN_CAPACITY, withValues);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * @return slot of key, {@link #ZERO_KEY} for the all-zero key or {@link #NOT_FOUND}
+     */
+    int indexOf(long k0, long k1, long k2, long k3) {
+        if ((k0 | k1 | k2 | k3) == 0) {
+            return hasZeroKey ? ZERO_KEY : NOT_FOUND;
+        }
+        long[] keys = this.keys;
+        int slot = hash(k0, k1, k2, k3) & mask;
+        while (true) {
+            int p = slot << 2;
+            long a = keys[p];
+            long b = keys[p + 1];
+            long c = keys[p + 2];
+            long d = keys[p + 3];
+            if (a == k0 && b == k1 && c == k2 && d == k3) {
+                return slot;
+            }
+            if ((a | b | c | d) == 0) {
+                return NOT_FOUND;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    Object valueAt(int index) {
+        return index == ZERO_KEY ? zeroKeyValue : values[index];
+    }
+
+    /**
+     * Copies table into new one with capacity sufficient for given number of keys, the copy could be mutated before publishing.
+     */
+    Z85KeyTable copyFor(int expectedSize) {
+        int capacity = capacity();
+        while (expectedSize > capacity - (capacity >> 2) && capacity < MAX_CAPACITY) { // load factor 0.75
+            capacity <<= 1;
+        }
+        if (expectedSize > capacity - (capacity >> 2)) {
+            throw new IllegalStateException("Too many keys: " + expectedSize);
+        }
+        Z85KeyTable copy = new Z85KeyTable(capacity, values != null);
+        copy.size = size;
+        copy.hasZeroKey = hasZeroKey;
+        copy.zeroKeyValue = zeroKeyValue;
+        if (capacity == capacity()) {
+            System.arraycopy(keys, 0, copy.keys, 0, keys.length);
+            if (values != null) {
+                System.arraycopy(values, 0, copy.values, 0, values.length);
+            }
+        } else {
+            for (int slot = 0; slot <= mask; slot++) {
+                int p = slot << 2;
+                if ((keys[p] | keys[p + 1] | keys[p + 2] | keys[p + 3]) != 0) {
+                    copy.insert(keys[p], keys[p + 1], keys[p + 2], keys[p + 3], values == null ? null : values[slot]);
+                }
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Grows unpublished table when its capacity is not sufficient for given number of keys, so bulk loads copy the table O(log n) times.
+     */
+    Z85KeyTable ensureCapacity(int expectedSize) {
+        int capacity = capacity();
+        return expectedSize > capacity - (capacity >> 2) ? copyFor(expectedSize) : this;
+    }
+
+    /**
+     * @return number of items for collections, 0 for other iterables, which could be iterated once only
+     */
+    static int sizeHint(Iterable<?> items) {
+        return items instanceof Collection ? ((Collection<?>) items).size() : 0;
+    }
+
+    /**
+     * Mutates unpublished table, capacity must be sufficient.
+     *
+     * @return previous value, {@link Boolean#TRUE} for set when key was present, null when key was absent
+     */
+    Object put(long k0, long k1, long k2, long k3, Object value) {
+        int index = indexOf(k0, k1, k2, k3);
+        if (index == ZERO_KEY) {
+            Object previous = values == null ? Boolean.TRUE : zeroKeyValue;
+            zeroKeyValue = value;
+            return previous;
+        } else if (index != NOT_FOUND) {
+            if (values == null) {
+                return Boolean.TRUE;
+            }
+            Object previous = values[index];
+            values[index] = value;
+            return previous;
+        }
+        size++;
+        if ((k0 | k1 | k2 | k3) == 0) {
+            hasZeroKey = true;
+            zeroKeyValue = value;
+        } else {
+            insert(k0, k1, k2, k3, value);
+        }
+        return null;
+    }
+
+    private void insert(long k0, long k1, long k2, long k3, Object value) {
+        int slot = hash(k0, k1, k2, k3) & mask;
+        while ((keys[slot << 2] | keys[(slot << 2) + 1] | keys[(slot << 2) + 2] | keys[(slot << 2) + 3]) != 0) {
+            slot = (slot + 1) & mask;
+        }
+        int p = slot << 2;
+        keys[p] = k0;
+        keys[p + 1] = k1;
+        keys[p + 2] = k2;
+        keys[p + 3] = k3;
+        if (values != null) {
+            values[slot] = value;
+        }
+    }
+
+    /**
+     * Mutates unpublished table.
+     */
+    void remove(int index) {
+        size--;
+        if (index == ZERO_KEY) {
+            hasZeroKey = false;
+            zeroKeyValue = null;
+            return;
+        }
+        int hole = index;
+        for (int next = (hole + 1) & mask; ; next = (next + 1) & mask) {
+            int p = next << 2;
+            if ((keys[p] | keys[p + 1] | keys[p + 2] | keys[p + 3]) == 0) {
+                break;
+            }
+            int home = hash(keys[p], keys[p + 1], keys[p + 2], keys[p + 3]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) { // entry could move back to hole without passing its home slot
+                System.arraycopy(keys, p, keys, hole << 2, 4);
+                if (values != null) {
+                    values[hole] = values[next];
+                }
+                hole = next;
+            }
+        }
+        Arrays.fill(keys, hole << 2, (hole << 2) + 4, 0L);
+        if (values != null) {
+            values[hole] = null;
+        }
+    }
+
+    private static int hash(long k0, long k1, long k2, long k3) {
+        long h = k0 * 0x9E37_79B9_7F4A_7C15L ^ k1;
+        h = h * 0x9E37_79B9_7F4A_7C15L ^ k2;
+        h = h * 0x9E37_79B9_7F4A_7C15L ^ k3;
+        h ^= h >>> 32;
+        h *= 0xD6E8_FEB8_6659_FD93L;
+        return (int) (h ^ h >>> 32);
+    }
+
+    static void checkKey(byte[] key, int offset) {
+        Z85.checkRange(key.length, offset, KEY_SIZE);
+    }
+
+    static void checkEncodedKey(String encodedKey) {
+        if (encodedKey.length() != ENCODED_KEY_SIZE) {
+            throw new IllegalArgumentException("Encoded key must have " + ENCODED_KEY_SIZE + " characters: " + encodedKey.length());
+        }
+    }
+}
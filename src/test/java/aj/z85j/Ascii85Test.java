@@ -0,0 +1,70 @@
+package aj.z85j;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Ascii85Test {
+
+    private static Stream<Arguments> validPairs() {
+        return Stream.of(
+                Arguments.of("", new byte[0]),
+                Arguments.of("9`", "M".getBytes(StandardCharsets.US_ASCII)),
+                Arguments.of("9jn", "Ma".getBytes(StandardCharsets.US_ASCII)),
+                Arguments.of("9jqo", "Man".getBytes(StandardCharsets.US_ASCII)),
+                Arguments.of("9jqo^", "Man ".getBytes(StandardCharsets.US_ASCII)),
+                Arguments.of("87cURD]i,\"Ebo7", "Hello World".getBytes(StandardCharsets.US_ASCII)),
+                Arguments.of("z", new byte[4]),
+                Arguments.of("z!!", new byte[5]),
+                Arguments.of("s8W-!", new byte[]{-1, -1, -1, -1}),
+                Arguments.of("s8W-!rr", new byte[]{-1, -1, -1, -1, -1})
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("validPairs")
+    void encode(String expected, byte[] binary) {
+        assertEquals(expected, new String(Ascii85.encode(binary), StandardCharsets.US_ASCII));
+    }
+
+    @ParameterizedTest
+    @MethodSource("validPairs")
+    void encodeFramed(String expected, byte[] binary) {
+        assertEquals("<~" + expected + "~>", new String(Ascii85.encodeFramed(binary), StandardCharsets.US_ASCII));
+    }
+
+    @ParameterizedTest
+    @MethodSource("validPairs")
+    void decode(String encoded, byte[] expected) {
+        assertAll(
+                () -> assertArrayEquals(expected, Ascii85.decode(encoded)),
+                () -> assertArrayEquals(expected, Ascii85.decode(encoded.getBytes(StandardCharsets.US_ASCII))),
+                () -> assertArrayEquals(expected, Ascii85.decode("<~" + encoded + "~>")),
+                () -> assertArrayEquals(expected, Ascii85.decode(encoded + "~>\n"))
+        );
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"9jq o^", "\n9jqo^\n", "<~9j\r\nqo^~>", "<~ 9jqo^ ~>  ", "  <~9jqo^~>", "<~9jqo^~\n>", "\r\n<\n~9jqo^~>\n"})
+    void decodeWhitespace(String encoded) {
+        assertArrayEquals("Man ".getBytes(StandardCharsets.US_ASCII), Ascii85.decode(encoded));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"zzzz", "z z\nzz", "<~zzzz~>"})
+    void decodeZeroBlocks(String encoded) {
+        assertArrayEquals(new byte[16], Ascii85.decode(encoded));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"9", "9jqo^9", "9jzo^", "9jqo^v", "s8W-\"", "<~9jqo^", "9jqo^Ā", "{"})
+    void decodeInvalid(String encoded) {
+        assertThrows(IllegalArgumentException.class, () -> Ascii85.decode(encoded));
+    }
+}
@@ -0,0 +1,97 @@
+package aj.z85j;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares hardcoded {@link Z85} loops with {@link Base85} engine for built-in and custom alphabets, all of them should run at the same speed.
+ * Run by {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=aj.z85j.Base85Benchmark} or from IDE.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Base85Benchmark {
+
+    @Param({"32", "1024", "1048576"})
+    int size;
+
+    private final Base85 z85 = new Base85(Base85Alphabet.Z85);
+    private final Base85 ascii85 = new Base85(Base85Alphabet.ASCII85);
+    private final Base85 custom = new Base85(Base85Alphabet.of(new StringBuilder(Base85Alphabet.Z85.characters()).reverse().toString()));
+
+    private byte[] binary;
+    private byte[] encodedZ85;
+    private byte[] encodedAscii85;
+    private byte[] encodedCustom;
+
+    @Setup
+    public void setUp() {
+        binary = new byte[size];
+        new Random(size).nextBytes(binary);
+        encodedZ85 = Z85.encode(binary);
+        encodedAscii85 = ascii85.encode(binary);
+        encodedCustom = custom.encode(binary);
+    }
+
+    @Benchmark
+    public byte[] encodeZ85() {
+        return Z85.encode(binary);
+    }
+
+    @Benchmark
+    public byte[] encodeBase85Z85() {
+        return z85.encode(binary);
+    }
+
+    @Benchmark
+    public byte[] encodeBase85Ascii85() {
+        return ascii85.encode(binary);
+    }
+
+    @Benchmark
+    public byte[] encodeBase85Custom() {
+        return custom.encode(binary);
+    }
+
+    @Benchmark
+    public byte[] encodeAscii85() {
+        return Ascii85.encode(binary);
+    }
+
+    @Benchmark
+    public byte[] decodeZ85() {
+        return Z85.decode(encodedZ85);
+    }
+
+    @Benchmark
+    public byte[] decodeBase85Z85() {
+        return z85.decode(encodedZ85);
+    }
+
+    @Benchmark
+    public byte[] decodeBase85Ascii85() {
+        return ascii85.decode(encodedAscii85);
+    }
+
+    @Benchmark
+    public byte[] decodeBase85Custom() {
+        return custom.decode(encodedCustom);
+    }
+
+    @Benchmark
+    public byte[] decodeAscii85() {
+        return Ascii85.decode(encodedAscii85);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(Base85Benchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,67 @@
+package aj.z85j;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares decode loop checking each block with loop deferring all checks to the end of input.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Base85DecodeBenchmark {
+
+    @Param({"20", "1280", "65540", "1310720"})
+    int size;
+
+    private final byte[] decoderMap = Base85Alphabet.Z85.decoderMap;
+
+    private byte[] encoded;
+    private String encodedString;
+    private byte[] decoded;
+
+    @Setup
+    public void setUp() {
+        byte[] binary = new byte[size / 5 * 4];
+        new Random(size).nextBytes(binary);
+        encoded = Z85.encode(binary);
+        encodedString = new String(encoded);
+        decoded = new byte[binary.length];
+    }
+
+    @Benchmark
+    public byte[] checked() {
+        Base85.decodeBlocks(decoderMap, encoded, 0, encoded.length, decoded, 0);
+        return decoded;
+    }
+
+    @Benchmark
+    public byte[] deferred() {
+        Base85.decodeBlocksDeferred(decoderMap, encoded, 0, encoded.length, decoded, 0);
+        return decoded;
+    }
+
+    @Benchmark
+    public byte[] checkedString() {
+        Base85.decodeBlocks(decoderMap, encodedString, 0, encodedString.length(), decoded, 0);
+        return decoded;
+    }
+
+    @Benchmark
+    public byte[] deferredString() {
+        Base85.decodeBlocksDeferred(decoderMap, encodedString, 0, encodedString.length(), decoded, 0);
+        return decoded;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(Base85DecodeBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,53 @@
+package aj.z85j;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares encode loop looking up single characters with loop looking up pairs of characters.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Base85EncodeBenchmark {
+
+    @Param({"16", "1024", "65536", "1048576"})
+    int size;
+
+    private final byte[] encoderMap = Base85Alphabet.Z85.encoderMap;
+    private final short[] encoderPairMap = Base85Alphabet.Z85.encoderPairMap;
+
+    private byte[] binary;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        binary = new byte[size];
+        new Random(size).nextBytes(binary);
+        encoded = new byte[size / 4 * 5];
+    }
+
+    @Benchmark
+    public byte[] single() {
+        Base85.encodeBlocks(encoderMap, binary, 0, binary.length, encoded, 0);
+        return encoded;
+    }
+
+    @Benchmark
+    public byte[] paired() {
+        Base85.encodeBlocksPaired(encoderMap, encoderPairMap, binary, 0, binary.length, encoded, 0);
+        return encoded;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(Base85EncodeBenchmark.class.getSimpleName()).build()).run();
+    }
+}
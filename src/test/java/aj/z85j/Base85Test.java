@@ -0,0 +1,127 @@
+package aj.z85j;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Base85Test {
+
+    private static final String REVERSED_Z85 = new StringBuilder(Base85Alphabet.Z85.characters()).reverse().toString();
+
+    @Test
+    void z85AlphabetMatchesZ85() {
+        Base85 base85 = new Base85(Base85Alphabet.Z85);
+        byte[] binary = new byte[1024];
+        new Random(85).nextBytes(binary);
+        byte[] encoded = Z85.encode(binary);
+        assertAll(
+                () -> assertArrayEquals(encoded, base85.encode(binary)),
+                () -> assertArrayEquals(binary, base85.decode(encoded)),
+                () -> assertArrayEquals(binary, base85.decode(new String(encoded))),
+                () -> assertTrue(base85.isValid(encoded))
+        );
+    }
+
+    @Test
+    void ascii85AlphabetWithoutCompression() {
+        Base85 base85 = new Base85(Base85Alphabet.ASCII85);
+        assertEquals("!!!!!9jqo^", new String(base85.encode(new byte[]{0, 0, 0, 0, 'M', 'a', 'n', ' '})));
+        assertArrayEquals(new byte[]{'M', 'a', 'n', ' '}, base85.decode("9jqo^"));
+    }
+
+    @Test
+    void customAlphabet() {
+        Base85 base85 = new Base85(Base85Alphabet.of(REVERSED_Z85));
+        assertEquals("#####", new String(base85.encode(new byte[4])));
+        assertArrayEquals(new byte[4], base85.decode("#####"));
+        assertFalse(base85.isValid("00000".getBytes())); // 84 * (85^4 + ... + 1) is out of integer range
+    }
+
+    @Test
+    void encodeDecodeIntoArray() {
+        Base85 base85 = new Base85(Base85Alphabet.ASCII85);
+        byte[] encoded = new byte[7];
+        byte[] decoded = new byte[6];
+        assertEquals(5, base85.encode(new byte[]{0, 'M', 'a', 'n', ' '}, 1, 4, encoded, 1));
+        assertEquals(4, base85.decode(encoded, 1, 5, decoded, 2));
+        assertEquals("9jqo^", new String(encoded, 1, 5));
+        assertArrayEquals(new byte[]{0, 0, 'M', 'a', 'n', ' '}, decoded);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"Z85", "ASCII85", "REVERSED"})
+    void pairedEncodeMatchesSingle(String name) {
+        Base85Alphabet alphabet = name.equals("Z85") ? Base85Alphabet.Z85 : name.equals("ASCII85") ? Base85Alphabet.ASCII85 : Base85Alphabet.of(REVERSED_Z85);
+        byte[] binary = new byte[4096];
+        new Random(85).nextBytes(binary);
+        UnsafeByteArrayAccess.intToBytes(binary, 0, 0);
+        UnsafeByteArrayAccess.intToBytes(binary, 4, -1);
+        byte[] single = new byte[5120];
+        byte[] paired = new byte[5120];
+        Base85.encodeBlocks(alphabet.encoderMap, binary, 0, binary.length, single, 0);
+        Base85.encodeBlocksPaired(alphabet.encoderMap, alphabet.encoderPairMap, binary, 0, binary.length, paired, 0);
+        assertArrayEquals(single, paired);
+    }
+
+    @Test
+    void deferredDecodeReportsFirstInvalidPosition() {
+        byte[] binary = new byte[400];
+        new Random(85).nextBytes(binary);
+        byte[] valid = Z85.encode(binary);
+        byte[] decoded = new byte[binary.length];
+        Base85.decodeBlocksDeferred(Base85Alphabet.Z85.decoderMap, valid, 0, valid.length, decoded, 0);
+        assertArrayEquals(binary, decoded);
+        Random random = new Random(85);
+        for (int k = 0; k < 100; k++) {
+            byte[] encoded = valid.clone();
+            int block = random.nextInt(valid.length / 5 - 1) * 5;
+            if (random.nextBoolean()) {
+                encoded[block + random.nextInt(5)] = (byte) (random.nextBoolean() ? ' ' : 0x80 | random.nextInt(128));
+            } else {
+                System.arraycopy("%%%%%".getBytes(), 0, encoded, block, 5); // exceeds integer range
+            }
+            encoded[block + 5 + random.nextInt(encoded.length - block - 5)] = '~'; // later error must not be reported
+            IllegalArgumentException fromBytes = assertThrows(IllegalArgumentException.class,
+                    () -> Base85.decodeBlocksDeferred(Base85Alphabet.Z85.decoderMap, encoded, 0, encoded.length, decoded, 0));
+            assertEquals("Invalid encoding at position " + block, fromBytes.getMessage());
+        }
+        String withNonAscii = new String(valid, 0, 10) + "\u0122" + new String(valid, 11, 9);
+        IllegalArgumentException fromString = assertThrows(IllegalArgumentException.class,
+                () -> Base85.decodeBlocksDeferred(Base85Alphabet.Z85.decoderMap, withNonAscii, 0, 20, decoded, 0));
+        assertEquals("Invalid encoding at position 10", fromString.getMessage());
+    }
+
+    @Test
+    void decodeInvalid() {
+        Base85 base85 = new Base85(Base85Alphabet.ASCII85);
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> base85.decode("9jqo^z!!!!")),
+                () -> assertThrows(IllegalArgumentException.class, () -> base85.decode("s8W-\"")),
+                () -> assertThrows(IllegalArgumentException.class, () -> base85.decode("9jqo"))
+        );
+    }
+
+    @Test
+    void characters() {
+        assertEquals(REVERSED_Z85, Base85Alphabet.of(REVERSED_Z85).characters());
+        assertEquals('!', Base85Alphabet.ASCII85.characters().charAt(0));
+        assertEquals('u', Base85Alphabet.ASCII85.characters().charAt(84));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "0123", "00123456789abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ.-:+=^!/*?&<>()[]{}@%$#"})
+    void alphabetInvalidLength(String characters) {
+        assertThrows(IllegalArgumentException.class, () -> Base85Alphabet.of(characters));
+    }
+
+    @ParameterizedTest
+    @ValueSource(chars = {' ', '\n', '\u007F', 'Ā', '1'})
+    void alphabetInvalidCharacter(char c) {
+        String characters = c + Base85Alphabet.Z85.characters().substring(1);
+        assertThrows(IllegalArgumentException.class, () -> Base85Alphabet.of(characters));
+    }
+}
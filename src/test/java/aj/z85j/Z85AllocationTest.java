@@ -0,0 +1,144 @@
+package aj.z85j;
+
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Guards offset-based and primitive paths against hidden allocation, e.g. boxing or exception message built eagerly in the loop.
+ */
+class Z85AllocationTest {
+
+    private static final int WARMUP_CALLS = 50_000;
+    private static final int MEASURED_CALLS = 100_000;
+    // measuring itself could allocate a few bytes, any per call allocation exceeds it many times
+    private static final long TOLERATED_BYTES = 4 * 1024;
+
+    private static com.sun.management.ThreadMXBean threadMXBean;
+
+    private final byte[] binary = new byte[1024];
+    private final byte[] encoded = new byte[1280];
+    private final byte[] decoded = new byte[1024];
+    private final String encodedString;
+    private final StringBuilder sb = new StringBuilder(64);
+
+    // results are accumulated to prevent dead code elimination
+    private long sink;
+
+    Z85AllocationTest() {
+        new Random(85).nextBytes(binary);
+        Z85.encode(binary, 0, binary.length, encoded, 0);
+        encodedString = new String(encoded);
+    }
+
+    @BeforeAll
+    static void setUp() {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "allocation measurement is not supported by JVM");
+        threadMXBean = (com.sun.management.ThreadMXBean) bean;
+        Assumptions.assumeTrue(threadMXBean.isThreadAllocatedMemorySupported(), "allocation measurement is not supported by JVM");
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    @Test
+    void encodeIntoArray() {
+        assertNoAllocation("encode(byte[], int, int, byte[], int)", () -> sink += Z85.encode(binary, 0, binary.length, encoded, 0));
+    }
+
+    @Test
+    void decodeIntoArray() {
+        assertNoAllocation("decode(byte[], int, int, byte[], int)", () -> sink += Z85.decode(encoded, 0, encoded.length, decoded, 0));
+    }
+
+    @Test
+    void decodeStringIntoArray() {
+        assertNoAllocation("decode(String, int, int, byte[], int)", () -> sink += Z85.decode(encodedString, 0, encodedString.length(), decoded, 0));
+    }
+
+    @Test
+    void decodeIgnoringWhitespaceIntoArray() {
+        assertNoAllocation("decodeIgnoringWhitespace(byte[], int, byte[], int)", () -> sink += Z85.decodeIgnoringWhitespace(encoded, encoded.length, decoded, 0));
+    }
+
+    @Test
+    void isValid() {
+        assertNoAllocation("isValid(byte[])", () -> sink += Z85.isValid(encoded) ? 1 : 0);
+        assertNoAllocation("isValid(String)", () -> sink += Z85.isValid(encodedString) ? 1 : 0);
+    }
+
+    @Test
+    void primitives() {
+        assertNoAllocation("appendInt(int, byte[], int)", () -> sink += Z85.appendInt((int) sink, encoded, 0));
+        assertNoAllocation("appendLong(long, byte[], int)", () -> sink += Z85.appendLong(sink, encoded, 0));
+        assertNoAllocation("decodeInt(byte[], int)", () -> sink += Z85.decodeInt(encoded, 5));
+        assertNoAllocation("decodeInt(String, int)", () -> sink += Z85.decodeInt(encodedString, 5));
+        assertNoAllocation("decodeLong(byte[], int)", () -> sink += Z85.decodeLong(encoded, 10));
+        assertNoAllocation("decodeLong(String, int)", () -> sink += Z85.decodeLong(encodedString, 10));
+        assertNoAllocation("appendLong(long, StringBuilder)", () -> {
+            sb.setLength(0);
+            sink += Z85.appendLong(sink, sb).length();
+        });
+    }
+
+    @Test
+    void base85IntoArray() {
+        Base85 base85 = new Base85(Base85Alphabet.ASCII85);
+        assertNoAllocation("Base85.encode(byte[], int, int, byte[], int)", () -> sink += base85.encode(binary, 0, binary.length, encoded, 0));
+        assertNoAllocation("Base85.decode(byte[], int, int, byte[], int)", () -> sink += base85.decode(encoded, 0, encoded.length, decoded, 0));
+    }
+
+    @Test
+    void dispatcherIntoArray() {
+        Z85Dispatcher dispatcher = new Z85Dispatcher(512, Integer.MAX_VALUE);
+        assertNoAllocation("Z85Dispatcher.encode(byte[], int, int, byte[], int)", () -> {
+            sink += dispatcher.encode(binary, 0, 256, encoded, 0);
+            sink += dispatcher.encode(binary, 0, binary.length, encoded, 0);
+        });
+        assertNoAllocation("Z85Dispatcher.decode(byte[], int, int, byte[], int)", () -> {
+            sink += dispatcher.decode(encoded, 0, 320, decoded, 0);
+            sink += dispatcher.decode(encoded, 0, encoded.length, decoded, 0);
+        });
+    }
+
+    @Test
+    void incremental() {
+        Z85Encoder encoder = new Z85Encoder();
+        Z85Decoder decoder = new Z85Decoder();
+        assertNoAllocation("Z85Encoder", () -> {
+            sink += encoder.update(binary, 0, 7, encoded, 0);
+            sink += encoder.doFinal(binary, 7, 1017, encoded, 5);
+        });
+        assertNoAllocation("Z85Decoder", () -> {
+            sink += decoder.update(encoded, 0, 7, decoded, 0);
+            sink += decoder.doFinal(encoded, 7, 1273, decoded, 4);
+        });
+    }
+
+    @Test
+    void keySetLookups() {
+        Z85KeySet set = new Z85KeySet();
+        set.add(java.util.Arrays.copyOf(binary, 32));
+        String encodedKey = encodedString.substring(0, 40);
+        assertNoAllocation("Z85KeySet.contains(byte[], int)", () -> sink += set.contains(binary, 0) ? 1 : 0);
+        assertNoAllocation("Z85KeySet.containsEncoded(byte[], int)", () -> sink += set.containsEncoded(encoded, 0) ? 1 : 0);
+        assertNoAllocation("Z85KeySet.containsEncoded(String)", () -> sink += set.containsEncoded(encodedKey) ? 1 : 0);
+    }
+
+    private void assertNoAllocation(String name, Runnable call) {
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            call.run();
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_CALLS; i++) {
+            call.run();
+        }
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+        assertTrue(allocated <= TOLERATED_BYTES, name + " allocated " + allocated + " bytes in " + MEASURED_CALLS + " calls");
+    }
+}
@@ -0,0 +1,71 @@
+package aj.z85j;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Compares encoding / decoding followed by checksum over the whole data with fused single pass.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Z85ChecksumBenchmark {
+
+    @Param({"65536", "4194304", "33554432"})
+    int size;
+
+    private final CRC32 checksum = new CRC32();
+
+    private byte[] binary;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        binary = new byte[size];
+        new Random(size).nextBytes(binary);
+        encoded = Z85.encode(binary);
+    }
+
+    @Benchmark
+    public long encodeThenChecksum() {
+        Z85.encode(binary, 0, binary.length, encoded, 0);
+        checksum.reset();
+        checksum.update(binary, 0, binary.length);
+        return checksum.getValue();
+    }
+
+    @Benchmark
+    public long encodeFused() {
+        checksum.reset();
+        Z85.encode(binary, 0, binary.length, encoded, 0, checksum);
+        return checksum.getValue();
+    }
+
+    @Benchmark
+    public long decodeThenChecksum() {
+        Z85.decode(encoded, 0, encoded.length, binary, 0);
+        checksum.reset();
+        checksum.update(binary, 0, binary.length);
+        return checksum.getValue();
+    }
+
+    @Benchmark
+    public long decodeFused() {
+        checksum.reset();
+        Z85.decode(encoded, 0, encoded.length, binary, 0, checksum);
+        return checksum.getValue();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(Z85ChecksumBenchmark.class.getSimpleName()).build()).run();
+    }
+}
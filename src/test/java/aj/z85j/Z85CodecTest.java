@@ -0,0 +1,125 @@
+package aj.z85j;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Z85CodecTest {
+
+    private static final byte[] HELLO_WORLD = {(byte) 0x86, (byte) 0x4F, (byte) 0xD2, (byte) 0x6F, (byte) 0xB5, (byte) 0x59, (byte) 0xF7, (byte) 0x5B};
+
+    @Test
+    void encode() {
+        Z85Codec codec = new Z85Codec();
+        try (Z85Codec.Lease encoded = codec.encode(HELLO_WORLD)) {
+            assertEquals(10, encoded.length());
+            assertEquals("HelloWorld", new String(encoded.array(), 0, encoded.length()));
+        }
+    }
+
+    @Test
+    void encodeRange() {
+        Z85Codec codec = new Z85Codec();
+        try (Z85Codec.Lease encoded = codec.encode(HELLO_WORLD, 4, 4)) {
+            assertEquals("World", new String(encoded.toByteArray()));
+        }
+    }
+
+    @Test
+    void decode() {
+        Z85Codec codec = new Z85Codec();
+        try (Z85Codec.Lease fromBytes = codec.decode("HelloWorld".getBytes());
+             Z85Codec.Lease fromString = codec.decode("HelloWorld")) {
+            assertArrayEquals(HELLO_WORLD, fromBytes.toByteArray());
+            assertArrayEquals(HELLO_WORLD, fromString.toByteArray());
+        }
+    }
+
+    @Test
+    void decodeInvalidReleasesBuffer() {
+        Z85Codec codec = new Z85Codec();
+        assertThrows(IllegalArgumentException.class, () -> codec.decode("Hello Worl"));
+        Z85Codec.Statistics statistics = codec.statistics();
+        assertEquals(1, statistics.getLeases());
+        assertEquals(1, statistics.getReleases());
+        assertEquals(1, statistics.getPooledBuffers());
+    }
+
+    @Test
+    void bufferIsReused() {
+        Z85Codec codec = new Z85Codec();
+        byte[] first;
+        try (Z85Codec.Lease encoded = codec.encode(new byte[1000])) {
+            first = encoded.array();
+        }
+        try (Z85Codec.Lease encoded = codec.encode(new byte[900])) {
+            assertSame(first, encoded.array());
+            assertEquals(1125, encoded.length());
+        }
+        Z85Codec.Statistics statistics = codec.statistics();
+        assertAll(
+                () -> assertEquals(2, statistics.getLeases()),
+                () -> assertEquals(1, statistics.getHits()),
+                () -> assertEquals(1, statistics.getMisses()),
+                () -> assertEquals(2, statistics.getReleases()),
+                () -> assertEquals(0, statistics.getDiscards()),
+                () -> assertEquals(1, statistics.getPooledBuffers()),
+                () -> assertEquals(2048, statistics.getPooledBytes())
+        );
+    }
+
+    @Test
+    void poolIsBounded() {
+        Z85Codec codec = new Z85Codec(1, 1024);
+        Z85Codec.Lease first = codec.lease(100);
+        Z85Codec.Lease second = codec.lease(100);
+        Z85Codec.Lease tooLarge = codec.lease(2000);
+        assertEquals(2000, tooLarge.array().length);
+        first.close();
+        second.close();
+        tooLarge.close();
+        Z85Codec.Statistics statistics = codec.statistics();
+        assertEquals(3, statistics.getMisses());
+        assertEquals(2, statistics.getDiscards());
+        assertEquals(1, statistics.getPooledBuffers());
+    }
+
+    @Test
+    void closedLease() {
+        Z85Codec codec = new Z85Codec();
+        Z85Codec.Lease lease = codec.lease(10);
+        lease.close();
+        lease.close();
+        assertThrows(IllegalStateException.class, lease::array);
+        assertEquals(1, codec.statistics().getReleases());
+    }
+
+    @ValueSource(ints = {0, 1, 63, 64})
+    @ParameterizedTest
+    void sizeClassMinimum(int size) {
+        assertEquals(6, Z85Codec.sizeClass(size));
+    }
+
+    @Test
+    void sizeClass() {
+        assertAll(
+                () -> assertEquals(7, Z85Codec.sizeClass(65)),
+                () -> assertEquals(7, Z85Codec.sizeClass(128)),
+                () -> assertEquals(30, Z85Codec.sizeClass(1 << 30)),
+                () -> assertEquals(31, Z85Codec.sizeClass((1 << 30) + 1)),
+                () -> assertEquals(31, Z85Codec.sizeClass(Integer.MAX_VALUE))
+        );
+    }
+
+    @ValueSource(ints = {-1, Integer.MIN_VALUE})
+    @ParameterizedTest
+    void invalidArguments(int value) {
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> new Z85Codec(value, 1)),
+                () -> assertThrows(IllegalArgumentException.class, () -> new Z85Codec(1, value)),
+                () -> assertThrows(IllegalArgumentException.class, () -> new Z85Codec().lease(value))
+        );
+    }
+}
@@ -0,0 +1,53 @@
+package aj.z85j;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link Z85Dispatcher} kernels across sizes, crossing points justify default thresholds.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Z85DispatcherBenchmark {
+
+    @Param({"16", "64", "1024", "65536", "4194304", "67108864"})
+    int size;
+
+    @Param({"SCALAR", "UNROLLED", "PARALLEL"})
+    Z85Dispatcher.Kernel kernel;
+
+    private byte[] binary;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() {
+        binary = new byte[size];
+        new Random(size).nextBytes(binary);
+        encoded = Z85.encode(binary);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        Z85Dispatcher.encode(kernel, binary, 0, binary.length, encoded, 0);
+        return encoded;
+    }
+
+    @Benchmark
+    public byte[] decode() {
+        Z85Dispatcher.decode(kernel, encoded, 0, encoded.length, binary, 0);
+        return binary;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(Z85DispatcherBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,114 @@
+package aj.z85j;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Properties;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Z85DispatcherTest {
+
+    @Test
+    void kernelFor() {
+        Z85Dispatcher dispatcher = new Z85Dispatcher(64, 1024);
+        assertAll(
+                () -> assertEquals(Z85Dispatcher.Kernel.SCALAR, dispatcher.kernelFor(0)),
+                () -> assertEquals(Z85Dispatcher.Kernel.SCALAR, dispatcher.kernelFor(60)),
+                () -> assertEquals(Z85Dispatcher.Kernel.UNROLLED, dispatcher.kernelFor(64)),
+                () -> assertEquals(Z85Dispatcher.Kernel.UNROLLED, dispatcher.kernelFor(1020)),
+                () -> assertEquals(Z85Dispatcher.Kernel.PARALLEL, dispatcher.kernelFor(1024))
+        );
+    }
+
+    @Test
+    void kernelForInvertedThresholds() {
+        Z85Dispatcher dispatcher = new Z85Dispatcher(Integer.MAX_VALUE, 1 << 20); // calibrated where unrolled does not win
+        assertAll(
+                () -> assertEquals(Z85Dispatcher.Kernel.SCALAR, dispatcher.kernelFor((1 << 20) - 4)),
+                () -> assertEquals(Z85Dispatcher.Kernel.PARALLEL, dispatcher.kernelFor(1 << 20)),
+                () -> assertEquals(Z85Dispatcher.Kernel.PARALLEL, dispatcher.kernelFor(1 << 26))
+        );
+    }
+
+    @Test
+    void properties() {
+        Z85Dispatcher dispatcher = Z85Dispatcher.fromProperties(new Z85Dispatcher(8, 16).toProperties());
+        assertEquals(8, dispatcher.getUnrolledThreshold());
+        assertEquals(16, dispatcher.getParallelThreshold());
+    }
+
+    @Test
+    void propertiesDefaults() {
+        Z85Dispatcher dispatcher = Z85Dispatcher.fromProperties(new Properties());
+        assertEquals(Z85Dispatcher.DEFAULT_UNROLLED_THRESHOLD, dispatcher.getUnrolledThreshold());
+        assertEquals(Z85Dispatcher.DEFAULT_PARALLEL_THRESHOLD, dispatcher.getParallelThreshold());
+    }
+
+    @ValueSource(strings = {"x", "-1", ""})
+    @ParameterizedTest
+    void propertiesInvalid(String value) {
+        Properties properties = new Properties();
+        properties.setProperty(Z85Dispatcher.PARALLEL_THRESHOLD_PROPERTY, value);
+        assertThrows(IllegalArgumentException.class, () -> Z85Dispatcher.fromProperties(properties));
+    }
+
+    @ValueSource(ints = {0, 4, 8, 12, 1020, 3 * 1024 * 1024 + 4})
+    @ParameterizedTest
+    void kernelsMatchZ85(int size) {
+        byte[] binary = new byte[size];
+        new Random(size).nextBytes(binary);
+        byte[] expected = Z85.encode(binary);
+        for (Z85Dispatcher.Kernel kernel : Z85Dispatcher.Kernel.values()) {
+            byte[] encoded = new byte[expected.length + 2];
+            byte[] decoded = new byte[size + 1];
+            Z85Dispatcher.encode(kernel, binary, 0, size, encoded, 2);
+            Z85Dispatcher.decode(kernel, encoded, 2, expected.length, decoded, 1);
+            assertArrayEquals(expected, Arrays.copyOfRange(encoded, 2, encoded.length), kernel.name());
+            assertArrayEquals(binary, Arrays.copyOfRange(decoded, 1, decoded.length), kernel.name());
+        }
+    }
+
+    @EnumSource(Z85Dispatcher.Kernel.class)
+    @ParameterizedTest
+    void decodeInvalidPosition(Z85Dispatcher.Kernel kernel) {
+        byte[] encoded = Z85.encode(new byte[2 * 1024 * 1024]);
+        encoded[encoded.length - 3] = ' ';
+        encoded[1_000_000] = '#'; // "#0000" is out of integer range
+        encoded[2_000_001] = ',';
+        String message = assertThrows(IllegalArgumentException.class, () -> Z85Dispatcher.decode(kernel, encoded, 0, encoded.length, new byte[2 * 1024 * 1024], 0)).getMessage();
+        assertEquals("Invalid encoding at position 1000000", message);
+    }
+
+    @Test
+    void encodeDecode() {
+        Z85Dispatcher dispatcher = Z85Dispatcher.getDefault();
+        byte[] binary = new byte[1024];
+        new Random(1).nextBytes(binary);
+        byte[] encoded = dispatcher.encode(binary);
+        byte[] decoded = new byte[1024];
+        assertArrayEquals(Z85.encode(binary), encoded);
+        assertArrayEquals(binary, dispatcher.decode(encoded));
+        assertEquals(1024, dispatcher.decode(encoded, 0, encoded.length, decoded, 0));
+        assertArrayEquals(binary, decoded);
+        assertEquals(1280, dispatcher.encode(binary, 0, binary.length, encoded, 0));
+    }
+
+    @Test
+    void calibrate() {
+        Z85Dispatcher dispatcher = Z85Dispatcher.calibrate(1024, 1_000_000L);
+        assertTrue(dispatcher.getUnrolledThreshold() >= 16);
+        assertEquals(Integer.MAX_VALUE, dispatcher.getParallelThreshold()); // parallel kernel is not measured for small sizes
+    }
+
+    @ValueSource(ints = {-1, Integer.MIN_VALUE})
+    @ParameterizedTest
+    void invalidThresholds(int value) {
+        assertThrows(IllegalArgumentException.class, () -> new Z85Dispatcher(value, 0));
+        assertThrows(IllegalArgumentException.class, () -> new Z85Dispatcher(0, value));
+    }
+}
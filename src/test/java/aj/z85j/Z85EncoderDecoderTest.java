@@ -0,0 +1,124 @@
+package aj.z85j;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Z85EncoderDecoderTest {
+
+    @ValueSource(ints = {1, 2, 3, 4, 5, 7, 13, 1000})
+    @ParameterizedTest
+    void encodeFragments(int fragmentSize) {
+        byte[] binary = new byte[400];
+        new Random(fragmentSize).nextBytes(binary);
+        byte[] encoded = new byte[500];
+        Z85Encoder encoder = new Z85Encoder();
+        int j = 0;
+        int i = 0;
+        for (; binary.length - i > fragmentSize; i += fragmentSize) {
+            j += encoder.update(binary, i, fragmentSize, encoded, j);
+        }
+        j += encoder.doFinal(binary, i, binary.length - i, encoded, j);
+        assertEquals(500, j);
+        assertArrayEquals(Z85.encode(binary), encoded);
+    }
+
+    @ValueSource(ints = {1, 2, 3, 4, 5, 6, 11, 1000})
+    @ParameterizedTest
+    void decodeFragments(int fragmentSize) {
+        byte[] binary = new byte[400];
+        new Random(fragmentSize).nextBytes(binary);
+        byte[] encoded = Z85.encode(binary);
+        byte[] decoded = new byte[400];
+        Z85Decoder decoder = new Z85Decoder();
+        int j = 0;
+        int i = 0;
+        for (; encoded.length - i > fragmentSize; i += fragmentSize) {
+            j += decoder.update(encoded, i, fragmentSize, decoded, j);
+        }
+        j += decoder.doFinal(encoded, i, encoded.length - i, decoded, j);
+        assertEquals(400, j);
+        assertArrayEquals(binary, decoded);
+    }
+
+    @Test
+    void encoderKeepsRemainder() {
+        Z85Encoder encoder = new Z85Encoder();
+        byte[] encoded = new byte[10];
+        assertEquals(0, encoder.getOutputSize(3));
+        assertEquals(0, encoder.update(new byte[]{(byte) 0x86, (byte) 0x4F, (byte) 0xD2}, 0, 3, encoded, 0));
+        assertEquals(5, encoder.getOutputSize(1));
+        assertEquals(5, encoder.update(new byte[]{(byte) 0x6F, (byte) 0xB5}, 0, 2, encoded, 0));
+        assertEquals(5, encoder.doFinal(new byte[]{(byte) 0x59, (byte) 0xF7, (byte) 0x5B}, 0, 3, encoded, 5));
+        assertEquals("HelloWorld", new String(encoded));
+    }
+
+    @Test
+    void encoderIncompleteBlock() {
+        Z85Encoder encoder = new Z85Encoder();
+        encoder.update(new byte[4], 0, 4, new byte[5], 0);
+        assertThrows(IllegalArgumentException.class, () -> encoder.doFinal(new byte[1], 0, 1, new byte[5], 0));
+        assertEquals(5, encoder.doFinal(new byte[4], 0, 4, new byte[5], 0)); // reset after failure
+    }
+
+    @Test
+    void decoderIncompleteBlock() {
+        Z85Decoder decoder = new Z85Decoder();
+        assertThrows(IllegalArgumentException.class, () -> decoder.doFinal("Hell".getBytes(), 0, 4, new byte[4], 0));
+        assertEquals(4, decoder.doFinal("Hello".getBytes(), 0, 5, new byte[4], 0));
+    }
+
+    @Test
+    void decoderReset() {
+        Z85Decoder decoder = new Z85Decoder();
+        decoder.update("Hel".getBytes(), 0, 3, new byte[0], 0);
+        decoder.reset();
+        byte[] decoded = new byte[4];
+        assertEquals(4, decoder.doFinal("World".getBytes(), 0, 5, decoded, 0));
+        assertArrayEquals(Z85.decode("World"), decoded);
+    }
+
+    @ValueSource(ints = {0, 3, 4, 5, 7, 12, 13, 14})
+    @ParameterizedTest
+    void decoderInvalidPositionInStream(int invalidPosition) {
+        byte[] encoded = "HelloWorld00000".getBytes();
+        encoded[invalidPosition] = ' ';
+        int blockStart = invalidPosition / 5 * 5;
+        Z85Decoder decoder = new Z85Decoder();
+        byte[] decoded = new byte[12];
+        String message = assertThrows(IllegalArgumentException.class, () -> {
+            int j = 0;
+            for (int i = 0; i < encoded.length; i += 3) {
+                j += decoder.update(Arrays.copyOfRange(encoded, i, i + 3), 0, 3, decoded, j);
+            }
+        }).getMessage();
+        assertEquals("Invalid encoding at position " + blockStart, message);
+    }
+
+    @Test
+    void decoderOutOfRangeInStream() {
+        Z85Decoder decoder = new Z85Decoder();
+        decoder.update("Hello%n".getBytes(), 0, 7, new byte[4], 0);
+        String message = assertThrows(IllegalArgumentException.class, () -> decoder.update("Sc1".getBytes(), 0, 3, new byte[4], 0)).getMessage();
+        assertEquals("Invalid encoding at position 5", message);
+    }
+
+    @Test
+    void encoderOutputSizeExceedsArraySize() {
+        Z85Encoder encoder = new Z85Encoder();
+        assertEquals(1_717_986_915, encoder.getOutputSize(1_374_389_532));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> encoder.getOutputSize(Integer.MAX_VALUE));
+        assertTrue(e.getMessage().startsWith("Not enough space for encoding"), e.getMessage());
+    }
+
+    @Test
+    void notEnoughSpace() {
+        assertThrows(IllegalArgumentException.class, () -> new Z85Encoder().update(new byte[8], 0, 8, new byte[9], 0));
+        assertThrows(IllegalArgumentException.class, () -> new Z85Decoder().update(new byte[10], 0, 10, new byte[7], 0));
+    }
+}
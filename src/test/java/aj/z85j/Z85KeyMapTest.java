@@ -0,0 +1,80 @@
+package aj.z85j;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Z85KeyMapTest {
+
+    @Test
+    void putGetRemove() {
+        Z85KeyMap<String> map = new Z85KeyMap<>();
+        byte[] key = new byte[32];
+        key[31] = 1;
+        String encodedKey = new String(Z85.encode(key));
+        assertNull(map.put(key, "first"));
+        assertEquals("first", map.putEncoded(encodedKey, "second"));
+        assertEquals("second", map.get(key));
+        assertEquals("second", map.getEncoded(encodedKey));
+        assertEquals("second", map.getEncoded(encodedKey.getBytes(), 0));
+        assertNull(map.get(new byte[32]));
+        assertEquals("second", map.removeEncoded(encodedKey));
+        assertNull(map.remove(key));
+        assertEquals(0, map.size());
+        assertThrows(NullPointerException.class, () -> map.put(key, null));
+    }
+
+    @Test
+    void bulkPut() {
+        Random random = new Random(85);
+        Map<byte[], Integer> entries = new HashMap<>();
+        Map<String, Integer> encodedEntries = new HashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            byte[] key = new byte[32];
+            random.nextBytes(key);
+            entries.put(key, i);
+            encodedEntries.put(new String(Z85.encode(key)), -i);
+        }
+        Z85KeyMap<Integer> map = new Z85KeyMap<>();
+        map.putAll(entries);
+        assertEquals(1000, map.size());
+        entries.forEach((key, value) -> assertEquals(value, map.get(key)));
+        map.putAllEncoded(encodedEntries);
+        assertEquals(1000, map.size());
+        encodedEntries.forEach((key, value) -> assertEquals(value, map.getEncoded(key)));
+
+        Map<String, Integer> withNull = new HashMap<>();
+        withNull.put(new String(Z85.encode(new byte[32])), null);
+        assertThrows(NullPointerException.class, () -> map.putAllEncoded(withNull));
+        assertEquals(1000, map.size());
+    }
+
+    @Test
+    void matchesHashMap() {
+        Random random = new Random(85);
+        Z85KeyMap<Integer> map = new Z85KeyMap<>();
+        Map<String, Integer> expected = new HashMap<>();
+        String[] keys = new String[300]; // small key space to hit updates, removals and probe chains
+        for (int i = 0; i < keys.length; i++) {
+            byte[] key = new byte[32];
+            random.nextBytes(key);
+            keys[i] = new String(Z85.encode(key));
+        }
+        for (int i = 0; i < 20_000; i++) {
+            String key = keys[random.nextInt(keys.length)];
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), map.removeEncoded(key));
+            } else {
+                assertEquals(expected.put(key, i), map.putEncoded(key, i));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (String key : keys) {
+            assertEquals(expected.get(key), map.get(Z85.decode(key)));
+        }
+    }
+}
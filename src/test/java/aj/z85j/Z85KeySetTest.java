@@ -0,0 +1,111 @@
+package aj.z85j;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Z85KeySetTest {
+
+    // CURVE public key from ZeroMQ RFC 32
+    private static final String ENCODED_KEY = "rq:rM>}U?@Lns47E1%kR.o@n%FcmmsL/@{H8]yf7";
+
+    @Test
+    void binaryAndEncodedLookups() {
+        byte[] key = Z85.decode(ENCODED_KEY);
+        Z85KeySet set = new Z85KeySet();
+        assertTrue(set.addEncoded(ENCODED_KEY));
+        assertFalse(set.add(key));
+        assertEquals(1, set.size());
+        assertTrue(set.contains(key));
+        assertTrue(set.containsEncoded(ENCODED_KEY));
+
+        byte[] framed = new byte[50];
+        System.arraycopy(key, 0, framed, 3, 32);
+        assertTrue(set.contains(framed, 3));
+        System.arraycopy(ENCODED_KEY.getBytes(), 0, framed, 7, 40);
+        assertTrue(set.containsEncoded(framed, 7));
+        assertThrows(IllegalArgumentException.class, () -> set.containsEncoded(framed, 0));
+    }
+
+    @Test
+    void zeroKey() {
+        Z85KeySet set = new Z85KeySet();
+        byte[] zero = new byte[32];
+        assertFalse(set.contains(zero));
+        assertTrue(set.add(zero));
+        assertTrue(set.containsEncoded(new String(Z85.encode(zero))));
+        assertTrue(set.remove(zero));
+        assertFalse(set.contains(zero));
+        assertEquals(0, set.size());
+    }
+
+    @Test
+    void manyKeys() {
+        Random random = new Random(85);
+        List<byte[]> keys = new ArrayList<>();
+        List<String> encodedKeys = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            byte[] key = new byte[32];
+            random.nextBytes(key);
+            keys.add(key);
+            encodedKeys.add(new String(Z85.encode(key)));
+        }
+        Z85KeySet set = new Z85KeySet();
+        assertEquals(5000, set.addAllEncoded(encodedKeys));
+        assertEquals(0, set.addAllEncoded(encodedKeys.subList(0, 100)));
+        for (int i = 0; i < keys.size(); i += 2) {
+            assertTrue(set.remove(keys.get(i)));
+        }
+        assertEquals(2500, set.size());
+        for (int i = 0; i < keys.size(); i++) {
+            assertEquals(i % 2 == 1, set.contains(keys.get(i)), "key " + i);
+            assertEquals(i % 2 == 1, set.containsEncoded(encodedKeys.get(i)), "key " + i);
+        }
+        set.clear();
+        assertEquals(0, set.size());
+        assertFalse(set.contains(keys.get(1)));
+    }
+
+    @Test
+    void bulkAdd() {
+        Random random = new Random(85);
+        List<byte[]> keys = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            byte[] key = new byte[32];
+            random.nextBytes(key);
+            keys.add(key);
+        }
+        Z85KeySet set = new Z85KeySet();
+        assertEquals(1000, set.addAll(keys));
+        assertEquals(0, set.addAll(keys.subList(0, 10)));
+        assertThrows(IllegalArgumentException.class, () -> set.addAll(Arrays.asList(new byte[32], new byte[31])));
+        assertEquals(1000, set.size());
+        assertFalse(set.contains(new byte[32]));
+
+        Z85KeySet fromIterator = new Z85KeySet();
+        Iterator<String> encodedKeys = keys.stream().map(key -> new String(Z85.encode(key))).iterator();
+        Iterable<String> singleUse = () -> encodedKeys;
+        assertEquals(1000, fromIterator.addAllEncoded(singleUse));
+        for (byte[] key : keys) {
+            assertTrue(fromIterator.contains(key));
+        }
+    }
+
+    @Test
+    void invalidKeys() {
+        Z85KeySet set = new Z85KeySet();
+        assertThrows(IllegalArgumentException.class, () -> set.add(new byte[31]));
+        assertThrows(IllegalArgumentException.class, () -> set.contains(new byte[33]));
+        assertThrows(IllegalArgumentException.class, () -> set.contains(new byte[40], 9));
+        assertThrows(IllegalArgumentException.class, () -> set.addEncoded(ENCODED_KEY.substring(5)));
+        assertThrows(IllegalArgumentException.class, () -> set.containsEncoded(ENCODED_KEY.replace('r', ' ')));
+        assertThrows(IllegalArgumentException.class, () -> set.addAllEncoded(Arrays.asList(ENCODED_KEY, "too short")));
+        assertEquals(0, set.size());
+    }
+}
@@ -0,0 +1,77 @@
+package aj.z85j;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs {@link Z85RegressionBenchmark} and compares average times with committed baseline, fails when any benchmark is slower than baseline by more than tolerance.
+ * It is excluded from default build, run it by {@code mvn test -Pperformance}.
+ * Tolerance is set by {@value #TOLERANCE_PROPERTY} (0.3 by default, i.e. 30 %),
+ * baseline is rewritten by results of current run when {@value #UPDATE_PROPERTY} is {@code true}, e.g. after intended change or on different machine.
+ */
+@Tag("performance")
+class Z85PerformanceRegressionTest {
+
+    static final String TOLERANCE_PROPERTY = "z85.performance.tolerance";
+    static final String UPDATE_PROPERTY = "z85.performance.updateBaseline";
+
+    private static final String BASELINE_RESOURCE = "performance-baseline.properties";
+    private static final Path BASELINE_SOURCE = Paths.get("src", "test", "resources", "aj", "z85j", BASELINE_RESOURCE);
+
+    @Test
+    void noRegression() throws RunnerException, IOException {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(Z85RegressionBenchmark.class.getName())
+                .build()).run();
+        Properties measured = new Properties();
+        for (RunResult result : results) {
+            String name = result.getParams().getBenchmark();
+            measured.setProperty(name.substring(name.lastIndexOf('.') + 1), String.format(Locale.ROOT, "%.1f", result.getPrimaryResult().getScore()));
+        }
+        if (Boolean.getBoolean(UPDATE_PROPERTY)) {
+            try (OutputStream out = Files.newOutputStream(BASELINE_SOURCE)) {
+                measured.store(out, "Z85RegressionBenchmark average time in ns/op");
+            }
+            return;
+        }
+
+        Properties baseline = new Properties();
+        try (InputStream in = Z85PerformanceRegressionTest.class.getResourceAsStream(BASELINE_RESOURCE)) {
+            assertNotNull(in, "missing baseline, create it by -D" + UPDATE_PROPERTY + "=true");
+            baseline.load(in);
+        }
+        double tolerance = Double.parseDouble(System.getProperty(TOLERANCE_PROPERTY, "0.3"));
+        List<String> regressions = new ArrayList<>();
+        for (String name : new TreeSet<>(measured.stringPropertyNames())) {
+            String expected = baseline.getProperty(name);
+            if (expected == null) {
+                regressions.add(name + ": missing in baseline");
+                continue;
+            }
+            double actual = Double.parseDouble(measured.getProperty(name));
+            if (actual > Double.parseDouble(expected) * (1 + tolerance)) {
+                regressions.add(name + ": " + actual + " ns/op, baseline " + expected + " ns/op");
+            }
+        }
+        assertTrue(regressions.isEmpty(), "slower than baseline by more than " + Math.round(tolerance * 100) + " %: " + regressions);
+    }
+}
@@ -0,0 +1,72 @@
+package aj.z85j;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hot paths guarded by {@link Z85PerformanceRegressionTest}, keep names stable as they are keys of committed baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Z85RegressionBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private final byte[] binary = new byte[SIZE];
+    private final byte[] encoded = new byte[SIZE / 4 * 5];
+    private final byte[] decoded = new byte[SIZE];
+    private String encodedString;
+
+    @Setup
+    public void setUp() {
+        new Random(SIZE).nextBytes(binary);
+        Z85.encode(binary, 0, SIZE, encoded, 0);
+        encodedString = new String(encoded);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return Z85.encode(binary);
+    }
+
+    @Benchmark
+    public int encodeIntoArray() {
+        return Z85.encode(binary, 0, SIZE, encoded, 0);
+    }
+
+    @Benchmark
+    public byte[] decode() {
+        return Z85.decode(encoded);
+    }
+
+    @Benchmark
+    public int decodeIntoArray() {
+        return Z85.decode(encoded, 0, encoded.length, decoded, 0);
+    }
+
+    @Benchmark
+    public byte[] decodeString() {
+        return Z85.decode(encodedString);
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return Z85.isValid(encoded);
+    }
+
+    @Benchmark
+    public int appendLong() {
+        return Z85.appendLong(0x86_4F_D2_6F_B5_59_F7_5BL, encoded, 0);
+    }
+
+    @Benchmark
+    public long decodeLong() {
+        return Z85.decodeLong(encoded, 10);
+    }
+}
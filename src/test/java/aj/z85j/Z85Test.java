@@ -8,8 +8,12 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.Random;
+import java.util.UUID;
 import java.util.stream.Stream;
+import java.util.zip.CRC32;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -300,6 +304,203 @@ class Z85Test {
         }
     }
 
+    private static Stream<Arguments> wrappedPairs() {
+        return Stream.of(
+                Arguments.of("", new byte[0], 1),
+                Arguments.of("Hello", new byte[]{(byte) 0x86, (byte) 0x4F, (byte) 0xD2, (byte) 0x6F}, 1),
+                Arguments.of("Hello\nWorld", new byte[]{(byte) 0x86, (byte) 0x4F, (byte) 0xD2, (byte) 0x6F, (byte) 0xB5, (byte) 0x59, (byte) 0xF7, (byte) 0x5B}, 1),
+                Arguments.of("HelloWorld", new byte[]{(byte) 0x86, (byte) 0x4F, (byte) 0xD2, (byte) 0x6F, (byte) 0xB5, (byte) 0x59, (byte) 0xF7, (byte) 0x5B}, 2),
+                Arguments.of("HelloWorld\n00000", new byte[]{(byte) 0x86, (byte) 0x4F, (byte) 0xD2, (byte) 0x6F, (byte) 0xB5, (byte) 0x59, (byte) 0xF7, (byte) 0x5B, 0, 0, 0, 0}, 2),
+                Arguments.of("HelloWorld00000", new byte[]{(byte) 0x86, (byte) 0x4F, (byte) 0xD2, (byte) 0x6F, (byte) 0xB5, (byte) 0x59, (byte) 0xF7, (byte) 0x5B, 0, 0, 0, 0}, Integer.MAX_VALUE)
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("wrappedPairs")
+    void encodeWrapped(String expected, byte[] binary, int blocksPerLine) {
+        assertEquals(expected, new String(Z85.encodeWrapped(binary, blocksPerLine)));
+    }
+
+    @ParameterizedTest
+    @MethodSource("wrappedPairs")
+    void decodeIgnoringWhitespaceWrapped(String encoded, byte[] expected, int blocksPerLine) {
+        assertAll(
+                () -> assertArrayEquals(expected, Z85.decodeIgnoringWhitespace(encoded.getBytes())),
+                () -> assertArrayEquals(expected, Z85.decodeIgnoringWhitespace(encoded))
+        );
+    }
+
+    @ValueSource(ints = {0, -1, Integer.MIN_VALUE})
+    @ParameterizedTest
+    void encodeWrappedInvalidBlocksPerLine(int blocksPerLine) {
+        assertThrows(IllegalArgumentException.class, () -> Z85.encodeWrapped(new byte[4], blocksPerLine));
+    }
+
+    @ValueSource(strings = {" Hello", "Hello ", "He llo", "H\te\r\nllo", "\r\n\r\nHello\r\n", "H e l l o"})
+    @ParameterizedTest
+    void decodeIgnoringWhitespace(String encoded) {
+        byte[] expected = {(byte) 0x86, (byte) 0x4F, (byte) 0xD2, (byte) 0x6F};
+        assertAll(
+                () -> assertArrayEquals(expected, Z85.decodeIgnoringWhitespace(encoded.getBytes())),
+                () -> assertArrayEquals(expected, Z85.decodeIgnoringWhitespace(encoded))
+        );
+    }
+
+    @Test
+    void decodeIgnoringWhitespaceIntoArray() {
+        byte[] decoded = new byte[10];
+        assertEquals(8, Z85.decodeIgnoringWhitespace("Hel lo\nWorld".getBytes(), 12, decoded, 1));
+        assertArrayEquals(new byte[]{0, (byte) 0x86, (byte) 0x4F, (byte) 0xD2, (byte) 0x6F, (byte) 0xB5, (byte) 0x59, (byte) 0xF7, (byte) 0x5B, 0}, decoded);
+    }
+
+    @Test
+    void decodeIgnoringWhitespaceNotEnoughSpace() {
+        assertThrows(IllegalArgumentException.class, () -> Z85.decodeIgnoringWhitespace("HelloWorld", 10, new byte[7], 0));
+    }
+
+    @ValueSource(strings = {"Hell", "Hell\n", "Hello\nWorl", "Hello Worl d1"})
+    @ParameterizedTest
+    void decodeIgnoringWhitespaceIncompleteBlock(String encoded) {
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> Z85.decodeIgnoringWhitespace(encoded.getBytes())),
+                () -> assertThrows(IllegalArgumentException.class, () -> Z85.decodeIgnoringWhitespace(encoded))
+        );
+    }
+
+    @MethodSource("invalidCharacters")
+    @ParameterizedTest
+    void decodeIgnoringWhitespaceInvalidCharacters(char c) {
+        byte b = (byte) c; // 'č' is truncated to '\r'
+        if (b == ' ' || b == '\t' || b == '\r' || b == '\n') {
+            return;
+        }
+        for (int i = 0; i < 5; i++) {
+            byte[] bytes = oneInvalidEncodingCharacter(c, i);
+            String message = assertThrows(IllegalArgumentException.class, () -> Z85.decodeIgnoringWhitespace(new String(bytes)), "position " + i + " for char " + c).getMessage();
+            assertTrue(message.endsWith("position " + i), message);
+            assertThrows(IllegalArgumentException.class, () -> Z85.decodeIgnoringWhitespace(bytes), "position " + i + " for char " + c);
+        }
+    }
+
+    @MethodSource("outOfIntegerRange")
+    @ParameterizedTest
+    void decodeIgnoringWhitespaceOutOfIntegerRange(String value) {
+        String wrapped = value.substring(0, 2) + "\n" + value.substring(2);
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> Z85.decodeIgnoringWhitespace(value.getBytes())),
+                () -> assertThrows(IllegalArgumentException.class, () -> Z85.decodeIgnoringWhitespace(wrapped.getBytes())),
+                () -> assertThrows(IllegalArgumentException.class, () -> Z85.decodeIgnoringWhitespace(wrapped))
+        );
+    }
+
+    @ValueSource(ints = {0, 1, -1, 0x7F_FF_FF_FF, Integer.MIN_VALUE, 0x86_4F_D2_6F})
+    @ParameterizedTest
+    void encodeDecodeInt(int value) {
+        String expected = new String(Z85.encode(ByteBuffer.allocate(4).putInt(value).array()));
+        byte[] encoded = new byte[7];
+        assertAll(
+                () -> assertEquals(expected, Z85.encodeInt(value)),
+                () -> assertEquals(expected, Z85.appendInt(value, new StringBuilder()).toString()),
+                () -> assertEquals(6, Z85.appendInt(value, encoded, 1)),
+                () -> assertEquals(expected, new String(encoded, 1, 5)),
+                () -> assertEquals(value, Z85.decodeInt(expected)),
+                () -> assertEquals(value, Z85.decodeInt("#" + expected, 1)),
+                () -> assertEquals(value, Z85.decodeInt(encoded, 1))
+        );
+    }
+
+    @ValueSource(longs = {0, 1, -1, Long.MAX_VALUE, Long.MIN_VALUE, 0x86_4F_D2_6F_B5_59_F7_5BL})
+    @ParameterizedTest
+    void encodeDecodeLong(long value) {
+        String expected = new String(Z85.encode(ByteBuffer.allocate(8).putLong(value).array()));
+        byte[] encoded = new byte[12];
+        assertAll(
+                () -> assertEquals(expected, Z85.encodeLong(value)),
+                () -> assertEquals(expected, Z85.appendLong(value, new StringBuilder()).toString()),
+                () -> assertEquals(11, Z85.appendLong(value, encoded, 1)),
+                () -> assertEquals(expected, new String(encoded, 1, 10)),
+                () -> assertEquals(value, Z85.decodeLong(expected)),
+                () -> assertEquals(value, Z85.decodeLong("#" + expected, 1)),
+                () -> assertEquals(value, Z85.decodeLong(encoded, 1))
+        );
+    }
+
+    @ValueSource(strings = {"00000000-0000-0000-0000-000000000000", "ffffffff-ffff-ffff-ffff-ffffffffffff", "123e4567-e89b-12d3-a456-426614174000"})
+    @ParameterizedTest
+    void encodeDecodeUuid(String uuidAsString) {
+        UUID uuid = UUID.fromString(uuidAsString);
+        String expected = new String(Z85.encode(ByteBuffer.allocate(16).putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits()).array()));
+        byte[] encoded = new byte[22];
+        assertAll(
+                () -> assertEquals(expected, Z85.encodeUuid(uuid)),
+                () -> assertEquals(expected, Z85.appendUuid(uuid, new StringBuilder()).toString()),
+                () -> assertEquals(21, Z85.appendUuid(uuid, encoded, 1)),
+                () -> assertEquals(expected, new String(encoded, 1, 20)),
+                () -> assertEquals(uuid, Z85.decodeUuid(expected)),
+                () -> assertEquals(uuid, Z85.decodeUuid("#" + expected, 1)),
+                () -> assertEquals(uuid, Z85.decodeUuid(encoded, 1))
+        );
+    }
+
+    @ValueSource(strings = {"", "0000", "000000", "0000\u0100", "0000 ", "#####", "%nSc1"})
+    @ParameterizedTest
+    void decodeIntInvalid(String encoded) {
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> Z85.decodeInt(encoded)),
+                () -> assertThrows(IllegalArgumentException.class, () -> Z85.decodeLong(encoded + encoded)),
+                () -> assertThrows(IllegalArgumentException.class, () -> Z85.decodeUuid(encoded + encoded + encoded + encoded))
+        );
+    }
+
+    @ValueSource(ints = {-1, 1, 4, Integer.MAX_VALUE, Integer.MIN_VALUE})
+    @ParameterizedTest
+    void primitiveOutOfRange(int offset) {
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> Z85.appendInt(0, new byte[5], offset)),
+                () -> assertThrows(IllegalArgumentException.class, () -> Z85.appendLong(0, new byte[10], offset)),
+                () -> assertThrows(IllegalArgumentException.class, () -> Z85.decodeInt(new byte[5], offset)),
+                () -> assertThrows(IllegalArgumentException.class, () -> Z85.decodeLong("0000000000", offset))
+        );
+    }
+
+    @Test
+    void encodeIntoArray() {
+        byte[] encoded = new byte[12];
+        assertEquals(5, Z85.encode(new byte[]{0, (byte) 0x86, (byte) 0x4F, (byte) 0xD2, (byte) 0x6F, 0}, 1, 4, encoded, 2));
+        assertEquals("\0\0Hello\0\0\0\0\0", new String(encoded));
+    }
+
+    @Test
+    void decodeIntoArray() {
+        byte[] expected = {0, (byte) 0x86, (byte) 0x4F, (byte) 0xD2, (byte) 0x6F, 0};
+        byte[] fromBytes = new byte[6];
+        byte[] fromString = new byte[6];
+        assertEquals(4, Z85.decode("#Hello#".getBytes(), 1, 5, fromBytes, 1));
+        assertEquals(4, Z85.decode("#Hello#", 1, 5, fromString, 1));
+        assertArrayEquals(expected, fromBytes);
+        assertArrayEquals(expected, fromString);
+    }
+
+    @Test
+    void decodeIntoArrayInvalidPosition() {
+        String message = assertThrows(IllegalArgumentException.class, () -> Z85.decode("#Hello#orld#", 1, 10, new byte[8], 0)).getMessage();
+        assertEquals("Invalid encoding at position 6", message);
+    }
+
+    @Test
+    void encodeDecodeIntoArrayOutOfRange() {
+        assertAll(
+                () -> assertThrows(IllegalArgumentException.class, () -> Z85.encode(new byte[8], 5, 4, new byte[10], 0)),
+                () -> assertThrows(IllegalArgumentException.class, () -> Z85.encode(new byte[8], -1, 4, new byte[10], 0)),
+                () -> assertThrows(IllegalArgumentException.class, () -> Z85.encode(new byte[8], 0, 3, new byte[10], 0)),
+                () -> assertThrows(IllegalArgumentException.class, () -> Z85.encode(new byte[8], 0, 8, new byte[10], 1)),
+                () -> assertThrows(IllegalArgumentException.class, () -> Z85.decode(new byte[10], 6, 5, new byte[8], 0)),
+                () -> assertThrows(IllegalArgumentException.class, () -> Z85.decode(new byte[10], 0, -5, new byte[8], 0)),
+                () -> assertThrows(IllegalArgumentException.class, () -> Z85.decode(new byte[10], 0, 9, new byte[8], 0)),
+                () -> assertThrows(IllegalArgumentException.class, () -> Z85.decode("0000000000", 0, 10, new byte[8], 1))
+        );
+    }
+
     @MethodSource("invalidCharacters")
     @ParameterizedTest
     void isValidInvalidCharacters(char c) {
@@ -424,6 +625,55 @@ class Z85Test {
         return new String(chars);
     }
 
+    @ParameterizedTest
+    @ValueSource(ints = {0, 4, Z85.CHECKSUM_BATCH_SIZE, Z85.CHECKSUM_BATCH_SIZE + 4, 3 * Z85.CHECKSUM_BATCH_SIZE + 1000})
+    void encodeDecodeWithChecksum(int size) {
+        byte[] binary = new byte[size];
+        new Random(size).nextBytes(binary);
+        CRC32 expected = new CRC32();
+        expected.update(binary, 0, size);
+
+        CRC32 encodeChecksum = new CRC32();
+        byte[] encoded = Z85.encode(binary, encodeChecksum);
+        assertArrayEquals(Z85.encode(binary), encoded);
+        assertEquals(expected.getValue(), encodeChecksum.getValue());
+
+        CRC32 decodeChecksum = new CRC32();
+        assertArrayEquals(binary, Z85.decode(encoded, decodeChecksum));
+        assertEquals(expected.getValue(), decodeChecksum.getValue());
+
+        CRC32 decodeStringChecksum = new CRC32();
+        assertArrayEquals(binary, Z85.decode(new String(encoded), decodeStringChecksum));
+        assertEquals(expected.getValue(), decodeStringChecksum.getValue());
+    }
+
+    @Test
+    void encodeDecodeRangeWithChecksum() {
+        byte[] binary = new byte[20_004];
+        new Random(85).nextBytes(binary);
+        CRC32 expected = new CRC32();
+        expected.update(binary, 4, 20_000);
+
+        byte[] encoded = new byte[25_010];
+        CRC32 encodeChecksum = new CRC32();
+        assertEquals(25_000, Z85.encode(binary, 4, 20_000, encoded, 10, encodeChecksum));
+        assertEquals(expected.getValue(), encodeChecksum.getValue());
+
+        byte[] decoded = new byte[20_008];
+        CRC32 decodeChecksum = new CRC32();
+        assertEquals(20_000, Z85.decode(encoded, 10, 25_000, decoded, 8, decodeChecksum));
+        assertEquals(expected.getValue(), decodeChecksum.getValue());
+        assertArrayEquals(Arrays.copyOfRange(binary, 4, 20_004), Arrays.copyOfRange(decoded, 8, 20_008));
+    }
+
+    @Test
+    void decodeInvalidWithChecksum() {
+        byte[] encoded = Z85.encode(new byte[3 * Z85.CHECKSUM_BATCH_SIZE]);
+        encoded[12_345] = ' ';
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> Z85.decode(encoded, new CRC32()));
+        assertEquals("Invalid encoding at position 12345", e.getMessage());
+    }
+
     private static byte[] oneInvalidEncodingCharacter(char c, int pos) {
         byte[] bytes = "AAAAA".getBytes();
         bytes[pos] = (byte) c;